@@ -2,41 +2,100 @@ package com.example.inventory.config;
 
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 import com.example.inventory.model.Category;
 import com.example.inventory.service.CategoryFileStorageService;
 import com.example.inventory.repository.CategoryRepository;
-import com.example.inventory.model.Product;
 import com.example.inventory.service.ProductFileStorageService;
 import com.example.inventory.repository.ProductRepository;
 
+/**
+ * Loads categories and products in the background so the server starts taking
+ * health checks right away. Both stores load concurrently (products in parallel
+ * chunks when a binary snapshot is present); products are then pointed at the
+ * loaded category instances and the app is marked ready.
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductFileStorageService productFileStorageService;
     private final CategoryFileStorageService categoryFileStorageService;
+    private final DataLoadStatus dataLoadStatus;
+    private final ExecutorService loader = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "data-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public DataInitializer(ProductRepository productRepository, CategoryRepository categoryRepository,
             ProductFileStorageService productFileStorageService,
-            CategoryFileStorageService categoryFileStorageService) {
+            CategoryFileStorageService categoryFileStorageService, DataLoadStatus dataLoadStatus) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.productFileStorageService = productFileStorageService;
         this.categoryFileStorageService = categoryFileStorageService;
+        this.dataLoadStatus = dataLoadStatus;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        List<Category> categories = categoryFileStorageService.loadCategories();
-        categoryRepository.loadCategories(categories);
+        long start = System.nanoTime();
 
-        List<Product> products = productFileStorageService.loadProducts();
-        productRepository.loadProducts(products);
+        CompletableFuture<Long> categories = CompletableFuture.supplyAsync(() -> timed("categories", () -> {
+            List<Category> loaded = categoryFileStorageService.loadCategories();
+            categoryRepository.loadCategories(loaded);
+            categoryRepository.setChangeLog(categoryFileStorageService.openLog(categoryRepository::apply));
+            return loaded.size();
+        }), loader);
 
-        System.out.println("Loaded " + categories.size() + " categories and " + products.size() + " products.");
+        // Categories may still be loading, so products get one placeholder per category ID for now
+        Map<Long, Category> placeholders = new ConcurrentHashMap<>();
+        CompletableFuture<Long> products = CompletableFuture.supplyAsync(() -> timed("products", () -> {
+            long count = productFileStorageService.loadProducts(productRepository::loadProduct,
+                    id -> placeholders.computeIfAbsent(id, key -> new Category(key, null)));
+            productRepository.setChangeLog(productFileStorageService.openLog(productRepository::apply));
+            return count;
+        }), loader);
+
+        categories.thenCombine(products, (categoryCount, productCount) -> {
+            timed("categoryResolution", () -> productRepository.resolveCategories(
+                    id -> categoryRepository.findById(id).orElse(null)));
+            dataLoadStatus.recordPhase("total", (System.nanoTime() - start) / 1_000_000);
+            dataLoadStatus.markReady(categoryCount, productCount);
+            System.out.println("Loaded " + categoryCount + " categories and " + productCount + " products. Phases (ms): "
+                    + dataLoadStatus.getPhaseMillis());
+            return null;
+        }).exceptionally(e -> {
+            dataLoadStatus.markFailed(e);
+            System.err.println("Failed to load data: " + e);
+            return null;
+        });
+    }
+
+    private long timed(String phase, LongSupplier work) {
+        long start = System.nanoTime();
+        long result = work.getAsLong();
+        dataLoadStatus.recordPhase(phase, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    // Lets an in-flight load finish before the storage services close their logs
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dataLoadStatus.awaitFinished(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+        loader.shutdownNow();
     }
 }
@@ -0,0 +1,78 @@
+package com.example.inventory.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the background data load. Requests are refused until it is ready, and
+ * the readiness health group reports it together with the per-phase timings.
+ */
+@Component
+public class DataLoadStatus implements HealthIndicator {
+
+    public enum State {
+        LOADING,
+        READY,
+        FAILED
+    }
+
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile State state = State.LOADING;
+    private volatile String failure;
+    private volatile long categoryCount;
+    private volatile long productCount;
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public synchronized void recordPhase(String phase, long millis) {
+        phaseMillis.put(phase, millis);
+    }
+
+    public synchronized Map<String, Long> getPhaseMillis() {
+        return new LinkedHashMap<>(phaseMillis);
+    }
+
+    public void markReady(long categoryCount, long productCount) {
+        this.categoryCount = categoryCount;
+        this.productCount = productCount;
+        this.state = State.READY;
+        finished.countDown();
+    }
+
+    public void markFailed(Throwable cause) {
+        this.failure = cause.toString();
+        this.state = State.FAILED;
+        finished.countDown();
+    }
+
+    public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (state) {
+            case READY -> Health.up();
+            case LOADING -> Health.outOfService();
+            case FAILED -> Health.down().withDetail("error", failure);
+        };
+        return builder.withDetail("state", state)
+                .withDetail("categories", categoryCount)
+                .withDetail("products", productCount)
+                .withDetail("phasesMillis", getPhaseMillis())
+                .build();
+    }
+}
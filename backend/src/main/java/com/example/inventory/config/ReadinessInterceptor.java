@@ -0,0 +1,34 @@
+package com.example.inventory.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Answers API calls with 503 and Retry-After until the background data load is done
+@Component
+public class ReadinessInterceptor implements HandlerInterceptor {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final DataLoadStatus dataLoadStatus;
+
+    public ReadinessInterceptor(DataLoadStatus dataLoadStatus) {
+        this.dataLoadStatus = dataLoadStatus;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) throws Exception {
+        if (dataLoadStatus.isReady() || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.inventory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final ReadinessInterceptor readinessInterceptor;
+
+    public WebConfig(ReadinessInterceptor readinessInterceptor) {
+        this.readinessInterceptor = readinessInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(readinessInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -41,6 +41,14 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.getAllActiveCategories());
     }
 
+    // Find an active category by name, ignoring case: GET
+    @GetMapping("/by-name/{name}")
+    public ResponseEntity<Category> getCategoryByName(@PathVariable String name) {
+        return categoryService.getCategoryByName(name)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // Update a category: PUT
     @PutMapping("/{id}")
     public ResponseEntity<Category> updateCategory(@PathVariable Long id, @RequestBody Category category) {
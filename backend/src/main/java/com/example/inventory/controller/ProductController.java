@@ -1,5 +1,6 @@
 package com.example.inventory.controller;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,8 +18,10 @@ import java.util.List;
 import java.util.Optional;
 
 import com.example.inventory.model.Product;
+import com.example.inventory.dto.BatchItemResult;
 import com.example.inventory.dto.InventoryMetricsDTO;
 import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.dto.StockAdjustmentDTO;
 import com.example.inventory.service.ProductService;
 import com.example.inventory.dto.PagedResponse;
 
@@ -39,6 +42,18 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    // Create many products in one write: POST
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createProducts(@RequestBody List<ProductDTO> productDTOs) {
+        return ResponseEntity.ok(productService.saveBatch(productDTOs));
+    }
+
+    // Update many products in one write, each item carrying its ID: PUT
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateProducts(@RequestBody List<ProductDTO> productDTOs) {
+        return ResponseEntity.ok(productService.updateBatch(productDTOs));
+    }
+
     // Get filtered products: GET
     @GetMapping()
     public ResponseEntity<PagedResponse<Product>> getFilteredSortedProducts(
@@ -57,6 +72,28 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    // Get filtered products page by page with an opaque cursor: GET ?cursor=
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PagedResponse<Product>> getProductsAfterCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<Long> categories,
+            @RequestParam(required = false) String available,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String primarySortBy,
+            @RequestParam(required = false, defaultValue = "asc") String primarySortDirection,
+            @RequestParam(required = false) String secondarySortBy,
+            @RequestParam(required = false, defaultValue = "asc") String secondarySortDirection) {
+        try {
+            PagedResponse<Product> response = productService.getProductsAfterCursor(
+                    name, categories, available, cursor, size, primarySortBy, primarySortDirection,
+                    secondarySortBy, secondarySortDirection);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Update a product: PUT
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody ProductDTO dto) {
@@ -101,6 +138,20 @@ public class ProductController {
         return ResponseEntity.ok(updatedProduct);
     }
 
+    // Add or remove stock without overwriting concurrent changes: POST
+    @PostMapping("/{id}/stock/adjust")
+    public ResponseEntity<Product> adjustStock(@PathVariable Long id,
+            @Valid @RequestBody StockAdjustmentDTO adjustment) {
+        // Existence is checked under the product lock, so a concurrent delete still maps to 404
+        try {
+            return ResponseEntity.ok(productService.adjustStock(id, adjustment));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         Optional<Product> existingProductOpt = productService.getProductById(id);
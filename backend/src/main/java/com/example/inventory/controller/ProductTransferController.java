@@ -0,0 +1,59 @@
+package com.example.inventory.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import com.example.inventory.dto.ImportResult;
+import com.example.inventory.service.ProductTransferService;
+
+@RestController
+@RequestMapping("/api/products")
+public class ProductTransferController {
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductTransferService productTransferService;
+
+    public ProductTransferController(ProductTransferService productTransferService) {
+        this.productTransferService = productTransferService;
+    }
+
+    // Stream the whole catalog as newline-delimited JSON: GET
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> productTransferService.exportProducts(out, gzip));
+    }
+
+    // Create products from an NDJSON or CSV upload, read as it arrives: POST
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<ImportResult> importProducts(HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(CSV);
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            body = new GZIPInputStream(body, 1 << 16);
+        }
+        return ResponseEntity.ok(productTransferService.importProducts(body, csv));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.inventory.dto;
+
+public class BatchItemResult {
+    private int index;
+    private boolean success;
+    private Long id;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, boolean success, Long id, String error) {
+        this.index = index;
+        this.success = success;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResult ok(int index, Long id) {
+        return new BatchItemResult(index, true, id, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        return new BatchItemResult(index, false, id, error);
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public boolean isSuccess() {
+        return this.success;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.inventory.dto;
+
+public class ImportLineError {
+    private long line;
+    private String error;
+
+    public ImportLineError() {
+    }
+
+    public ImportLineError(long line, String error) {
+        this.line = line;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return this.line;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.inventory.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private long processed;
+    private long imported;
+    private long failed;
+    // The first errors only; failed holds the full count
+    private List<ImportLineError> errors = new ArrayList<>();
+
+    public long getProcessed() {
+        return this.processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return this.imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return this.failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportLineError> getErrors() {
+        return this.errors;
+    }
+
+    public void setErrors(List<ImportLineError> errors) {
+        this.errors = errors;
+    }
+}
@@ -2,15 +2,26 @@ package com.example.inventory.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class PagedResponse<T> {
     private List<T> content;
     private long totalElements;
+    // Only set in cursor mode; offset responses keep their original shape
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public PagedResponse(List<T> content, long totalElements) {
         this.content = content;
         this.totalElements = totalElements;
     }
 
+    public PagedResponse(List<T> content, long totalElements, String nextCursor) {
+        this.content = content;
+        this.totalElements = totalElements;
+        this.nextCursor = nextCursor;
+    }
+
     public List<T> getContent() {
         return content;
     }
@@ -18,4 +29,8 @@ public class PagedResponse<T> {
     public long getTotalElements() {
         return totalElements;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
\ No newline at end of file
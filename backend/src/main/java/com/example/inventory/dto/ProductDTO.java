@@ -7,6 +7,9 @@ import jakarta.validation.constraints.PositiveOrZero;
 import java.time.LocalDate;
 
 public class ProductDTO {
+    // Only read by the batch update endpoint; single-item endpoints take the ID from the path
+    private Long id;
+
     @NotBlank(message = "Name cannot be blank")
     @Size(min = 1, max = 120, message = "Name must be between 1 and 120 characters")
     private String name;
@@ -35,6 +38,14 @@ public class ProductDTO {
         this.expirationDate = expirationDate;
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return this.name;
     }
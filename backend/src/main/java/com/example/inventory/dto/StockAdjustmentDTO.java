@@ -0,0 +1,47 @@
+package com.example.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class StockAdjustmentDTO {
+    // Signed change to apply; negative to take stock out
+    @NotNull(message = "Delta is required")
+    private Double delta;
+
+    // Optional bounds the resulting stock must stay within; floor defaults to zero
+    private Double floor;
+
+    private Double ceiling;
+
+    public StockAdjustmentDTO() {
+    }
+
+    public StockAdjustmentDTO(Double delta, Double floor, Double ceiling) {
+        this.delta = delta;
+        this.floor = floor;
+        this.ceiling = ceiling;
+    }
+
+    public Double getDelta() {
+        return this.delta;
+    }
+
+    public void setDelta(Double delta) {
+        this.delta = delta;
+    }
+
+    public Double getFloor() {
+        return this.floor;
+    }
+
+    public void setFloor(Double floor) {
+        this.floor = floor;
+    }
+
+    public Double getCeiling() {
+        return this.ceiling;
+    }
+
+    public void setCeiling(Double ceiling) {
+        this.ceiling = ceiling;
+    }
+}
@@ -62,6 +62,15 @@ public class Product {
         this.stock = stock;
     }
 
+    // Field-by-field copy; the category instance stays shared
+    public Product copy() {
+        Product copy = new Product(id, name, category, price, stock, expirationDate);
+        copy.creationDate = creationDate;
+        copy.updateDate = updateDate;
+        copy.active = active;
+        return copy;
+    }
+
     public Long getId() {
         return this.id;
     }
@@ -0,0 +1,293 @@
+package com.example.inventory.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Moves change log writes off the calling thread. Appends only enqueue the record
+ * on a bounded queue, blocking while it is full, and a single virtual-thread writer
+ * drains it in batches: within a batch, records for the same ID collapse into the
+ * last one, the survivors go to the delegate, and one durable flush covers them all.
+ *
+ * In sync mode {@link #awaitDurable(long)} waits until the writer has flushed the
+ * record, so callers keep the delegate's durability guarantee without doing the
+ * I/O themselves. In async mode it returns at once and a crash can lose the records
+ * still in the queue.
+ *
+ * The writer encodes PUT records long after the caller has moved on, so
+ * {@link #append(LogRecord)} queues a copy of the entity taken on the caller's
+ * thread. Repositories append while holding the entity's lock, so the copy is a
+ * consistent state and later mutations of the live entity do not leak into it.
+ *
+ * A failed write leaves the delegate in an unknown state, so the log stops: the
+ * failure is logged and rethrown to every later append and durability wait.
+ */
+public class AsyncChangeLog<T> implements ChangeLog<T>, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(AsyncChangeLog.class);
+
+    /**
+     * Told about every batch the writer flushes: records taken off the queue,
+     * records written after coalescing, and the time the write and flush took.
+     * It runs on the writer before the batch is marked durable, so once
+     * {@link #flush()} returns every flushed batch has been reported.
+     */
+    @FunctionalInterface
+    public interface FlushListener {
+        void flushed(int received, int written, long nanos);
+    }
+
+    private final ChangeLog<T> delegate;
+    private final UnaryOperator<T> copier;
+    private final boolean waitForDurable;
+    private final int maxBatch;
+    private final FlushListener listener;
+    private final BlockingQueue<Entry<T>> queue;
+    private final Thread writer;
+
+    // Positions are assigned in queue order, so the writer can publish one high-water mark
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private final AtomicLong recordsReceived = new AtomicLong();
+    private final AtomicLong recordsWritten = new AtomicLong();
+
+    private long appendedPosition;
+    private volatile long flushedPosition;
+    private volatile RuntimeException failure;
+    private volatile boolean closed;
+
+    public AsyncChangeLog(ChangeLog<T> delegate, UnaryOperator<T> copier, int capacity, int maxBatch,
+            boolean waitForDurable, FlushListener listener) {
+        if (capacity < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.copier = copier;
+        this.waitForDurable = waitForDurable;
+        this.maxBatch = maxBatch;
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = Thread.ofVirtual().name("change-log-writer").start(this::run);
+    }
+
+    @Override
+    public long append(LogRecord<T> record) {
+        LogRecord<T> queued = record.entity() == null ? record
+                : new LogRecord<>(record.op(), record.id(), copier.apply(record.entity()));
+        appendLock.lock();
+        try {
+            checkUsable();
+            long position = appendedPosition + 1;
+            Entry<T> entry = new Entry<>(position, queued);
+            // Wait for room, but give up if the writer dies while the queue is full
+            while (!queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+            appendedPosition = position;
+            recordsReceived.incrementAndGet();
+            return position;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a change log record", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (waitForDurable) {
+            awaitFlushed(position);
+        }
+    }
+
+    /**
+     * Waits until everything appended so far has been written and flushed, whatever
+     * the mode. Used before the delegate is rotated or closed.
+     */
+    public void flush() {
+        long position;
+        appendLock.lock();
+        try {
+            position = appendedPosition;
+        } finally {
+            appendLock.unlock();
+        }
+        awaitFlushed(position);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getRecordsReceived() {
+        return recordsReceived.get();
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten.get();
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Drains the queue and stops the writer. Appends after this point are rejected.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitFlushed(long position) {
+        if (flushedPosition >= position) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (flushedPosition < position && failure == null) {
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the change log to flush", e);
+        } finally {
+            flushLock.unlock();
+        }
+        if (flushedPosition < position) {
+            checkFailure();
+        }
+    }
+
+    private void run() {
+        List<Entry<T>> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            Entry<T> first;
+            try {
+                // Polling rather than interrupting: an interrupt would close the delegate's file channel
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, maxBatch - 1);
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry<T>> batch) {
+        long start = System.nanoTime();
+        List<LogRecord<T>> records = coalesce(batch);
+        long position = 0;
+        for (LogRecord<T> record : records) {
+            position = delegate.append(record);
+        }
+        delegate.awaitDurable(position);
+        long nanos = System.nanoTime() - start;
+
+        // Account for the batch before publishing it, so whoever sees it durable also sees it counted
+        recordsWritten.addAndGet(records.size());
+        if (listener != null) {
+            listener.flushed(batch.size(), records.size(), nanos);
+        }
+        flushLock.lock();
+        try {
+            flushedPosition = batch.get(batch.size() - 1).position();
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // PUT and DELETE carry the full outcome for their ID, so only the last one per ID matters;
+    // a CLEAR wipes everything queued before it
+    static <T> List<LogRecord<T>> coalesce(List<Entry<T>> batch) {
+        LogRecord<T> clear = null;
+        Map<Long, LogRecord<T>> latest = new LinkedHashMap<>();
+        for (Entry<T> entry : batch) {
+            LogRecord<T> record = entry.record();
+            if (record.op() == LogRecord.Operation.CLEAR) {
+                clear = record;
+                latest.clear();
+            } else {
+                // Re-inserting moves the ID to the end, keeping the order of last writes
+                latest.remove(record.id());
+                latest.put(record.id(), record);
+            }
+        }
+
+        List<LogRecord<T>> records = new ArrayList<>(latest.size() + 1);
+        if (clear != null) {
+            records.add(clear);
+        }
+        records.addAll(latest.values());
+        return records;
+    }
+
+    private void fail(RuntimeException e) {
+        flushLock.lock();
+        try {
+            failure = e;
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        log.error("Change log writer stopped; later writes will be rejected", e);
+    }
+
+    private void checkUsable() {
+        if (closed) {
+            throw new IllegalStateException("Change log is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            throw new IllegalStateException("Change log writer failed", e);
+        }
+    }
+
+    record Entry<T>(long position, LogRecord<T> record) {
+    }
+}
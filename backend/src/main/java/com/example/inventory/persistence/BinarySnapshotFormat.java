@@ -0,0 +1,59 @@
+package com.example.inventory.persistence;
+
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+/**
+ * Layout of the binary snapshot files. All values are little-endian.
+ *
+ * <pre>
+ * header   (48 bytes)
+ *   0  int   magic 'INVS'
+ *   4  short version
+ *   6  short kind (categories or products)
+ *   8  int   record count
+ *   12 int   record size
+ *   16 long  records offset
+ *   24 long  ID index offset
+ *   32 long  string table offset
+ *   40 int   string count
+ * records  (record count x record size, in insertion order)
+ * ID index (record count x 12 bytes: long id, int record number; sorted by id)
+ * strings  ((string count + 1) int offsets into the blob, then the UTF-8 blob)
+ * </pre>
+ *
+ * Product record (56 bytes): long id, long category ID, double price, double
+ * stock, int name, int creation day, int update day, int expiration day, int
+ * flags. Category record (24 bytes): long id, int name, int creation day, int
+ * update day, int flags. Names are string table references and dates are epoch
+ * days, with {@link #NULL_REF}, {@link #NULL_DAY} and {@link #NULL_ID} for nulls.
+ */
+public final class BinarySnapshotFormat {
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final int MAGIC = 0x53564E49; // "INVS"
+    public static final short VERSION = 1;
+
+    public static final short KIND_CATEGORIES = 1;
+    public static final short KIND_PRODUCTS = 2;
+
+    public static final int HEADER_SIZE = 48;
+    public static final int INDEX_ENTRY_SIZE = 12;
+    public static final int PRODUCT_RECORD_SIZE = 56;
+    public static final int CATEGORY_RECORD_SIZE = 24;
+
+    public static final int FLAG_ACTIVE = 1;
+    public static final int NULL_REF = -1;
+    public static final int NULL_DAY = Integer.MIN_VALUE;
+    public static final long NULL_ID = Long.MIN_VALUE;
+
+    private BinarySnapshotFormat() {
+    }
+
+    static int toDay(LocalDate date) {
+        return date == null ? NULL_DAY : (int) date.toEpochDay();
+    }
+
+    static LocalDate fromDay(int day) {
+        return day == NULL_DAY ? null : LocalDate.ofEpochDay(day);
+    }
+}
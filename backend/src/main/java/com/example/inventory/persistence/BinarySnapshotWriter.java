@@ -0,0 +1,213 @@
+package com.example.inventory.persistence;
+
+import static com.example.inventory.persistence.BinarySnapshotFormat.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Writes products or categories in the {@link BinarySnapshotFormat} layout, in ID
+ * order. The file is written sequentially through a reusable buffer and forced to
+ * disk before returning; callers publish it with an atomic rename.
+ */
+public final class BinarySnapshotWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinarySnapshotWriter() {
+    }
+
+    public static long writeProducts(Path path, Collection<Product> source) throws IOException {
+        List<Product> products = new ArrayList<>(source);
+        products.sort(Comparator.comparing(Product::getId));
+
+        StringTable strings = new StringTable();
+        long[] ids = new long[products.size()];
+        int i = 0;
+        for (Product product : products) {
+            ids[i++] = product.getId();
+            strings.intern(product.getName());
+        }
+
+        try (Output out = new Output(path)) {
+            out.header(KIND_PRODUCTS, products.size(), PRODUCT_RECORD_SIZE, strings.size());
+            for (Product product : products) {
+                Category category = product.getCategory();
+                out.ensure(PRODUCT_RECORD_SIZE);
+                out.buffer.putLong(product.getId());
+                out.buffer.putLong(category == null || category.getId() == null ? NULL_ID : category.getId());
+                out.buffer.putDouble(product.getPrice());
+                out.buffer.putDouble(product.getStock());
+                out.buffer.putInt(strings.ref(product.getName()));
+                out.buffer.putInt(toDay(product.getCreationDate()));
+                out.buffer.putInt(toDay(product.getUpdateDate()));
+                out.buffer.putInt(toDay(product.getExpirationDate()));
+                out.buffer.putInt(product.isActive() ? FLAG_ACTIVE : 0);
+                out.buffer.putInt(0);
+            }
+            out.index(ids);
+            out.strings(strings);
+            return out.finish();
+        }
+    }
+
+    public static long writeCategories(Path path, Collection<Category> source) throws IOException {
+        List<Category> categories = new ArrayList<>(source);
+        categories.sort(Comparator.comparing(Category::getId));
+
+        StringTable strings = new StringTable();
+        long[] ids = new long[categories.size()];
+        int i = 0;
+        for (Category category : categories) {
+            ids[i++] = category.getId();
+            strings.intern(category.getName());
+        }
+
+        try (Output out = new Output(path)) {
+            out.header(KIND_CATEGORIES, categories.size(), CATEGORY_RECORD_SIZE, strings.size());
+            for (Category category : categories) {
+                out.ensure(CATEGORY_RECORD_SIZE);
+                out.buffer.putLong(category.getId());
+                out.buffer.putInt(strings.ref(category.getName()));
+                out.buffer.putInt(toDay(category.getCreationDate()));
+                out.buffer.putInt(toDay(category.getUpdateDate()));
+                out.buffer.putInt(category.isActive() ? FLAG_ACTIVE : 0);
+            }
+            out.index(ids);
+            out.strings(strings);
+            return out.finish();
+        }
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        void intern(String value) {
+            if (value != null && !refs.containsKey(value)) {
+                refs.put(value, values.size());
+                values.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int ref(String value) {
+            return value == null ? NULL_REF : refs.get(value);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+        private long written;
+        private short kind;
+        private int recordCount;
+        private int recordSize;
+        private int stringCount;
+        private long indexOffset;
+        private long stringTableOffset;
+
+        Output(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void header(short kind, int recordCount, int recordSize, int stringCount) throws IOException {
+            this.kind = kind;
+            this.recordCount = recordCount;
+            this.recordSize = recordSize;
+            this.stringCount = stringCount;
+            // Reserve the header; finish() fills it in once the section offsets are known
+            ensure(HEADER_SIZE);
+            buffer.put(new byte[HEADER_SIZE]);
+        }
+
+        // Records are written in ID order, so the index is the IDs with their positions
+        void index(long[] ids) throws IOException {
+            indexOffset = position();
+            for (int record = 0; record < ids.length; record++) {
+                ensure(INDEX_ENTRY_SIZE);
+                buffer.putLong(ids[record]);
+                buffer.putInt(record);
+            }
+        }
+
+        void strings(StringTable strings) throws IOException {
+            stringTableOffset = position();
+            int offset = 0;
+            for (byte[] value : strings.values) {
+                ensure(Integer.BYTES);
+                buffer.putInt(offset);
+                offset = Math.addExact(offset, value.length);
+            }
+            ensure(Integer.BYTES);
+            buffer.putInt(offset);
+            for (byte[] value : strings.values) {
+                int start = 0;
+                while (start < value.length) {
+                    ensure(1);
+                    int chunk = Math.min(buffer.remaining(), value.length - start);
+                    buffer.put(value, start, chunk);
+                    start += chunk;
+                }
+            }
+        }
+
+        long finish() throws IOException {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.putShort(kind);
+            header.putInt(recordCount);
+            header.putInt(recordSize);
+            header.putLong(HEADER_SIZE);
+            header.putLong(indexOffset);
+            header.putLong(stringTableOffset);
+            header.putInt(stringCount);
+            header.putInt(0);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+            return written;
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private long position() {
+            return written + buffer.position();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.inventory.persistence;
+
+/**
+ * Sink for repository mutations. Appends return a log position; callers hand it
+ * to {@link #awaitDurable(long)} once they have released their own locks, so
+ * concurrent writers can share a single flush.
+ */
+public interface ChangeLog<T> {
+
+    long append(LogRecord<T> record);
+
+    void awaitDurable(long position);
+
+    static <T> ChangeLog<T> none() {
+        return new ChangeLog<>() {
+            @Override
+            public long append(LogRecord<T> record) {
+                return 0;
+            }
+
+            @Override
+            public void awaitDurable(long position) {
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.inventory.persistence;
+
+/**
+ * A single mutation as stored in a write-ahead log. {@code PUT} carries the full
+ * entity state, so replaying a record is idempotent.
+ */
+public record LogRecord<T>(Operation op, Long id, T entity) {
+
+    public enum Operation {
+        PUT,
+        DELETE,
+        CLEAR
+    }
+
+    public static <T> LogRecord<T> put(Long id, T entity) {
+        return new LogRecord<>(Operation.PUT, id, entity);
+    }
+
+    public static <T> LogRecord<T> delete(Long id) {
+        return new LogRecord<>(Operation.DELETE, id, null);
+    }
+
+    public static <T> LogRecord<T> clear() {
+        return new LogRecord<>(Operation.CLEAR, null, null);
+    }
+}
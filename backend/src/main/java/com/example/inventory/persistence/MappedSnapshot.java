@@ -0,0 +1,204 @@
+package com.example.inventory.persistence;
+
+import static com.example.inventory.persistence.BinarySnapshotFormat.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongFunction;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Read-only view over a memory-mapped {@link BinarySnapshotFormat} file. Opening
+ * only validates the header; records and strings are decoded when asked for, and
+ * the OS pages in just the parts of the file that are touched.
+ *
+ * Sections larger than a single mapping are split into windows that hold a whole
+ * number of entries, so no record straddles two buffers. Instances are safe for
+ * concurrent readers because every access uses absolute positions.
+ */
+public final class MappedSnapshot implements Closeable {
+    private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final short kind;
+    private final int recordCount;
+    private final int recordSize;
+    private final Region records;
+    private final Region index;
+    private final ByteBuffer stringOffsets;
+    private final ByteBuffer stringBlob;
+    private final String[] stringCache;
+
+    private MappedSnapshot(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(BYTE_ORDER);
+        if (header.getInt(0) != MAGIC || header.getShort(4) != VERSION) {
+            throw new IOException("Not a binary snapshot (or unsupported version)");
+        }
+        this.kind = header.getShort(6);
+        this.recordCount = header.getInt(8);
+        this.recordSize = header.getInt(12);
+        long recordsOffset = header.getLong(16);
+        long indexOffset = header.getLong(24);
+        long stringTableOffset = header.getLong(32);
+        int stringCount = header.getInt(40);
+
+        this.records = new Region(channel, recordsOffset, recordCount, recordSize);
+        this.index = new Region(channel, indexOffset, recordCount, INDEX_ENTRY_SIZE);
+
+        long offsetsSize = (long) (stringCount + 1) * Integer.BYTES;
+        this.stringOffsets = map(channel, stringTableOffset, offsetsSize);
+        long blobOffset = stringTableOffset + offsetsSize;
+        this.stringBlob = map(channel, blobOffset, channel.size() - blobOffset);
+        this.stringCache = new String[stringCount];
+    }
+
+    public static MappedSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedSnapshot(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public boolean holdsProducts() {
+        return kind == KIND_PRODUCTS;
+    }
+
+    public boolean holdsCategories() {
+        return kind == KIND_CATEGORIES;
+    }
+
+    public long idAt(int record) {
+        return records.buffer(record).getLong(records.offset(record));
+    }
+
+    /**
+     * Decodes one product. The category is looked up by ID through the resolver, so
+     * products share the loaded category instances instead of carrying copies.
+     */
+    public Product product(int record, LongFunction<Category> categoryResolver) {
+        requireKind(KIND_PRODUCTS);
+        ByteBuffer buffer = records.buffer(record);
+        int base = records.offset(record);
+
+        Product product = new Product();
+        product.setId(buffer.getLong(base));
+        long categoryId = buffer.getLong(base + 8);
+        product.setCategory(categoryId == NULL_ID ? null : categoryResolver.apply(categoryId));
+        product.setPrice(buffer.getDouble(base + 16));
+        product.setStock(buffer.getDouble(base + 24));
+        product.setName(string(buffer.getInt(base + 32)));
+        product.setCreationDate(fromDay(buffer.getInt(base + 36)));
+        product.setUpdateDate(fromDay(buffer.getInt(base + 40)));
+        product.setExpirationDate(fromDay(buffer.getInt(base + 44)));
+        product.setActive((buffer.getInt(base + 48) & FLAG_ACTIVE) != 0);
+        return product;
+    }
+
+    public Category category(int record) {
+        requireKind(KIND_CATEGORIES);
+        ByteBuffer buffer = records.buffer(record);
+        int base = records.offset(record);
+
+        Category category = new Category();
+        category.setId(buffer.getLong(base));
+        category.setName(string(buffer.getInt(base + 8)));
+        category.setCreationDate(fromDay(buffer.getInt(base + 12)));
+        category.setUpdateDate(fromDay(buffer.getInt(base + 16)));
+        category.setActive((buffer.getInt(base + 20) & FLAG_ACTIVE) != 0);
+        return category;
+    }
+
+    // Binary search over the ID index; returns -1 when the ID is not in the file
+    public int find(long id) {
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = index.buffer(mid).getLong(index.offset(mid));
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return index.buffer(mid).getInt(index.offset(mid) + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String string(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        String cached = stringCache[ref];
+        if (cached == null) {
+            int start = stringOffsets.getInt(ref * Integer.BYTES);
+            int end = stringOffsets.getInt((ref + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            stringBlob.get(start, bytes);
+            cached = new String(bytes, StandardCharsets.UTF_8);
+            stringCache[ref] = cached;
+        }
+        return cached;
+    }
+
+    private void requireKind(short expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("Snapshot holds a different entity type");
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long size) throws IOException {
+        if (size > MAX_WINDOW) {
+            throw new IOException("Snapshot string table exceeds the 2 GB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(BYTE_ORDER);
+    }
+
+    private static final class Region {
+        private final ByteBuffer[] windows;
+        private final int entriesPerWindow;
+        private final int entrySize;
+
+        Region(FileChannel channel, long offset, int entryCount, int entrySize) throws IOException {
+            this.entrySize = entrySize;
+            this.entriesPerWindow = (int) (MAX_WINDOW / entrySize);
+            int windowCount = Math.max(1, (entryCount + entriesPerWindow - 1) / entriesPerWindow);
+            this.windows = new ByteBuffer[windowCount];
+            for (int w = 0; w < windowCount; w++) {
+                int entries = Math.min(entriesPerWindow, entryCount - w * entriesPerWindow);
+                long start = offset + (long) w * entriesPerWindow * entrySize;
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, (long) entries * entrySize)
+                        .order(BYTE_ORDER);
+            }
+        }
+
+        ByteBuffer buffer(int entry) {
+            return windows[entry / entriesPerWindow];
+        }
+
+        int offset(int entry) {
+            return (entry % entriesPerWindow) * entrySize;
+        }
+    }
+}
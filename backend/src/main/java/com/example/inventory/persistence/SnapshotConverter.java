@@ -0,0 +1,123 @@
+package com.example.inventory.persistence;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Command line tool to convert product and category files between JSON and the
+ * binary snapshot format.
+ *
+ * <pre>
+ * SnapshotConverter to-binary categories categories.json categories.snapshot.bin
+ * SnapshotConverter to-binary products products.json products.snapshot.bin
+ * SnapshotConverter to-json categories categories.snapshot.bin categories.json
+ * SnapshotConverter to-json products products.snapshot.bin products.json [categories file]
+ * </pre>
+ *
+ * Binary product files only keep category IDs; pass a categories file (JSON or
+ * binary) when converting products back to JSON to restore category names.
+ */
+public final class SnapshotConverter {
+    private static final ObjectMapper OBJECT_MAPPER = new JacksonConfig().objectMapper();
+
+    private SnapshotConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: SnapshotConverter <to-binary|to-json> <products|categories> <input> <output>"
+                    + " [categories file]");
+            System.exit(2);
+        }
+
+        String direction = args[0];
+        String entity = args[1];
+        Path input = Paths.get(args[2]);
+        Path output = Paths.get(args[3]);
+
+        long count;
+        if ("to-binary".equals(direction) && "categories".equals(entity)) {
+            List<Category> categories = readJson(input, Category.class);
+            BinarySnapshotWriter.writeCategories(output, categories);
+            count = categories.size();
+        } else if ("to-binary".equals(direction) && "products".equals(entity)) {
+            List<Product> products = readJson(input, Product.class);
+            BinarySnapshotWriter.writeProducts(output, products);
+            count = products.size();
+        } else if ("to-json".equals(direction) && "categories".equals(entity)) {
+            List<Category> categories = readCategories(input);
+            OBJECT_MAPPER.writeValue(output.toFile(), categories);
+            count = categories.size();
+        } else if ("to-json".equals(direction) && "products".equals(entity)) {
+            Map<Long, Category> categories = new HashMap<>();
+            if (args.length > 4) {
+                for (Category category : readCategories(Paths.get(args[4]))) {
+                    categories.put(category.getId(), category);
+                }
+            }
+            List<Product> products = new ArrayList<>();
+            try (MappedSnapshot snapshot = MappedSnapshot.open(input)) {
+                for (int i = 0; i < snapshot.size(); i++) {
+                    products.add(snapshot.product(i, id -> categories.getOrDefault(id, new Category(id, null))));
+                }
+            }
+            OBJECT_MAPPER.writeValue(output.toFile(), products);
+            count = products.size();
+        } else {
+            throw new IllegalArgumentException("Unknown conversion: " + direction + " " + entity);
+        }
+
+        System.out.println("Converted " + count + " " + entity + " from " + input + " to " + output);
+    }
+
+    private static List<Category> readCategories(Path path) throws IOException {
+        if (!isBinary(path)) {
+            return readJson(path, Category.class);
+        }
+        List<Category> categories = new ArrayList<>();
+        try (MappedSnapshot snapshot = MappedSnapshot.open(path)) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                categories.add(snapshot.category(i));
+            }
+        }
+        return categories;
+    }
+
+    private static <T> List<T> readJson(Path path, Class<T> type) throws IOException {
+        List<T> values = new ArrayList<>();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(path.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array in " + path);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                values.add(OBJECT_MAPPER.readValue(parser, type));
+            }
+        }
+        return values;
+    }
+
+    private static boolean isBinary(Path path) throws IOException {
+        byte[] head = new byte[4];
+        try (var in = Files.newInputStream(path)) {
+            if (in.read(head) < head.length) {
+                return false;
+            }
+        }
+        int magic = (head[0] & 0xFF) | (head[1] & 0xFF) << 8 | (head[2] & 0xFF) << 16 | (head[3] & 0xFF) << 24;
+        return magic == BinarySnapshotFormat.MAGIC;
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.inventory.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Append-only log of entity mutations, one JSON record per line.
+ *
+ * Appends are ordered by a single lock that only covers the file write. Durability
+ * uses group commit: the first writer to reach {@link #awaitDurable(long)} forces
+ * the file for everything appended so far, and writers queued behind it return
+ * without issuing their own fsync.
+ *
+ * Compaction works in two steps around a snapshot: {@link #rotate()} moves the
+ * current file aside as the previous segment, and {@link #discardPreviousSegment()}
+ * deletes it once a snapshot covering it is safely on disk. Until then, replay
+ * reads the previous segment before the current one.
+ */
+public class WriteAheadLog<T> implements ChangeLog<T>, Closeable {
+    private final Path path;
+    private final Path previousSegmentPath;
+    private final ObjectMapper objectMapper;
+    private final Class<T> entityType;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong recordsSinceRotation = new AtomicLong();
+
+    private FileChannel channel;
+    private volatile long appendedPosition;
+    private volatile long durablePosition;
+    private volatile LongConsumer syncListener = nanos -> {
+    };
+
+    public WriteAheadLog(Path path, ObjectMapper objectMapper, Class<T> entityType, boolean fsync) {
+        this.path = path;
+        this.previousSegmentPath = path.resolveSibling(path.getFileName() + ".prev");
+        this.objectMapper = objectMapper;
+        this.entityType = entityType;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Feeds every complete record in the log to the consumer. A trailing record
+     * without its newline was torn by a crash mid-append; it is dropped and the
+     * file is truncated so later appends start on a clean line.
+     */
+    public long replay(Consumer<LogRecord<T>> consumer) {
+        long replayed = replaySegment(previousSegmentPath, consumer) + replaySegment(path, consumer);
+        recordsSinceRotation.addAndGet(replayed);
+        return replayed;
+    }
+
+    private long replaySegment(Path segment, Consumer<LogRecord<T>> consumer) {
+        if (!Files.exists(segment)) {
+            return 0;
+        }
+
+        long replayed = 0;
+        long validEnd = 0;
+        long offset = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segment))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                if (line.size() > 0) {
+                    consumer.accept(decode(segment, line.toByteArray(), validEnd));
+                    replayed++;
+                    line.reset();
+                }
+                validEnd = offset;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay write-ahead log " + segment, e);
+        }
+
+        if (offset > validEnd) {
+            truncate(segment, validEnd);
+        }
+        return replayed;
+    }
+
+    public void open() {
+        appendLock.lock();
+        try {
+            if (channel != null) {
+                return;
+            }
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = openChannel();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-ahead log " + path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public long append(LogRecord<T> record) {
+        ByteBuffer buffer = ByteBuffer.wrap(encode(record));
+
+        appendLock.lock();
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("Write-ahead log is not open: " + path);
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            appendedPosition++;
+            recordsSinceRotation.incrementAndGet();
+            return appendedPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to write-ahead log " + path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (!fsync || durablePosition >= position) {
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            // Another writer may have forced our record while we waited for the lock
+            if (durablePosition >= position || channel == null) {
+                return;
+            }
+            long target = appendedPosition;
+            long start = System.nanoTime();
+            channel.force(false);
+            durablePosition = target;
+            syncCount.incrementAndGet();
+            syncListener.accept(System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync write-ahead log " + path, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the current segment aside and starts a new one. Every record appended
+     * before this call is in the previous segment; everything after goes to the new
+     * one. Writers are held off only for the file swap.
+     */
+    public void rotate() {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("Write-ahead log is not open: " + path);
+            }
+            channel.force(false);
+            durablePosition = appendedPosition;
+            channel.close();
+
+            if (Files.exists(previousSegmentPath)) {
+                // An earlier snapshot never completed, so its segment is still needed
+                try (FileChannel previous = FileChannel.open(previousSegmentPath, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND)) {
+                    ByteBuffer pending = ByteBuffer.wrap(Files.readAllBytes(path));
+                    while (pending.hasRemaining()) {
+                        previous.write(pending);
+                    }
+                    previous.force(false);
+                }
+                Files.delete(path);
+            } else {
+                Files.move(path, previousSegmentPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            channel = openChannel();
+            recordsSinceRotation.set(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate write-ahead log " + path, e);
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    public void discardPreviousSegment() {
+        try {
+            Files.deleteIfExists(previousSegmentPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete write-ahead log segment " + previousSegmentPath, e);
+        }
+    }
+
+    public boolean isOpen() {
+        appendLock.lock();
+        try {
+            return channel != null;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long getRecordsSinceRotation() {
+        return recordsSinceRotation.get();
+    }
+
+    public long getAppendedPosition() {
+        return appendedPosition;
+    }
+
+    // Told the duration in nanoseconds of every group-commit fsync
+    public void setSyncListener(LongConsumer syncListener) {
+        this.syncListener = syncListener;
+    }
+
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            if (channel != null) {
+                if (fsync) {
+                    channel.force(false);
+                }
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close write-ahead log " + path, e);
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private byte[] encode(LogRecord<T> record) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            objectMapper.writeValue(out, record);
+            out.write('\n');
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode write-ahead log record", e);
+        }
+    }
+
+    private LogRecord<T> decode(Path segment, byte[] line, long offset) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            LogRecord.Operation op = LogRecord.Operation.valueOf(node.get("op").asText());
+            Long id = node.hasNonNull("id") ? node.get("id").asLong() : null;
+            T entity = node.hasNonNull("entity") ? objectMapper.treeToValue(node.get("entity"), entityType) : null;
+            return new LogRecord<>(op, id, entity);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Corrupt write-ahead log record in " + segment + " at offset " + offset,
+                    e);
+        }
+    }
+
+    private void truncate(Path segment, long size) {
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.truncate(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate write-ahead log " + segment, e);
+        }
+    }
+}
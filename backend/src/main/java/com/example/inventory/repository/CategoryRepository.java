@@ -1,61 +1,346 @@
 package com.example.inventory.repository;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.example.inventory.model.Category;
+import com.example.inventory.persistence.ChangeLog;
+import com.example.inventory.persistence.LogRecord;
 
 @Repository
 public class CategoryRepository {
-    private final Map<Long, Category> data = new HashMap<>();
+    private static final int LOCK_STRIPES = 16;
+
+    // Readers go straight to the map; writers serialize per ID through the stripes
+    private final Map<Long, Category> data = new ConcurrentHashMap<>();
+    /*
+     * Case-folded names of active categories, and the name each ID holds there.
+     * Writers claim a name with putIfAbsent while holding the ID's stripe, so two
+     * categories can never both hold the same name, and release it on rename,
+     * soft delete and delete.
+     */
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(0);
+    private final StripedLock locks = new StripedLock(LOCK_STRIPES);
+    private volatile ChangeLog<Category> changeLog = ChangeLog.none();
+    // Bumped on every write; product listings sorted by category name depend on it
+    private final AtomicLong version = new AtomicLong();
+
+    private final Timer saveTimer;
+    private final Timer updateTimer;
+    private final Timer deleteTimer;
+    private final Timer clearTimer;
+    private final Timer findByIdTimer;
+    private final Timer getAllTimer;
+    private final Timer findByNameTimer;
+    private final Timer renameTimer;
 
     public CategoryRepository() {
+        this(new SimpleMeterRegistry());
     }
 
+    @Autowired
+    public CategoryRepository(MeterRegistry meterRegistry) {
+        OperationTimers timers = new OperationTimers(meterRegistry, "categories");
+        this.saveTimer = timers.timer("save");
+        this.updateTimer = timers.timer("update");
+        this.deleteTimer = timers.timer("delete");
+        this.clearTimer = timers.timer("clear");
+        this.findByIdTimer = timers.timer("findById");
+        this.getAllTimer = timers.timer("getAll");
+        this.findByNameTimer = timers.timer("findByName");
+        this.renameTimer = timers.timer("rename");
+    }
+
+    /**
+     * Saves a new category. An active category must have a name no other active
+     * category holds, ignoring case; otherwise an IllegalArgumentException is
+     * thrown and nothing is saved.
+     */
     public Category save(Category category) {
-        category.setId(idGenerator.incrementAndGet());
-        data.put(category.getId(), category);
-        return category;
+        long start = System.nanoTime();
+        try {
+            String name = nameKey(category);
+            long id = name == null ? idGenerator.incrementAndGet() : reserveName(name);
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                // A clear may have dropped the reservation before the stripe was taken
+                if (name != null && !claimName(name, id)) {
+                    throw duplicateName();
+                }
+                category.setId(id);
+                data.put(id, category);
+                indexName(id, name);
+                version.incrementAndGet();
+                position = changeLog.append(LogRecord.put(id, category));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return category;
+        } finally {
+            OperationTimers.record(saveTimer, start);
+        }
     }
 
+    /**
+     * Replaces the category with the given ID. Throws an IllegalArgumentException,
+     * leaving the stored category as it was, when the replacement is active and its
+     * name is held by another active category.
+     */
     public Category updateById(Long id, Category category) {
-        category.setId(id);
-        data.put(id, category);
-        return category;
+        long start = System.nanoTime();
+        try {
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                String name = nameKey(category);
+                if (name != null && !claimName(name, id)) {
+                    throw duplicateName();
+                }
+                category.setId(id);
+                data.put(id, category);
+                indexName(id, name);
+                version.incrementAndGet();
+                position = changeLog.append(LogRecord.put(id, category));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return category;
+        } finally {
+            OperationTimers.record(updateTimer, start);
+        }
     }
 
     public boolean deleteById(Long id) {
-        return data.remove(id) != null;
+        long start = System.nanoTime();
+        try {
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                if (data.remove(id) == null) {
+                    return false;
+                }
+                indexName(id, null);
+                version.incrementAndGet();
+                position = changeLog.append(LogRecord.delete(id));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return true;
+        } finally {
+            OperationTimers.record(deleteTimer, start);
+        }
+    }
+
+    /**
+     * Renames an active category in place, so products holding it see the new name.
+     * The name is checked and claimed before the category changes; if another
+     * active category holds it, ignoring case, an IllegalArgumentException is
+     * thrown and the category keeps its old name.
+     */
+    public Category rename(Long id, String newName) {
+        long start = System.nanoTime();
+        try {
+            long position;
+            Category category;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                category = data.get(id);
+                if (category == null || !category.getActive()) {
+                    throw new IllegalArgumentException("Category does not exist");
+                }
+                String name = foldName(newName);
+                if (name != null && !claimName(name, id)) {
+                    throw duplicateName();
+                }
+                category.setName(newName);
+                category.setUpdateDate(LocalDate.now());
+                indexName(id, name);
+                version.incrementAndGet();
+                position = changeLog.append(LogRecord.put(id, category));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return category;
+        } finally {
+            OperationTimers.record(renameTimer, start);
+        }
+    }
+
+    // The active category with this name, ignoring case
+    public Optional<Category> findByName(String name) {
+        long start = System.nanoTime();
+        try {
+            String key = foldName(name);
+            Long id = key == null ? null : idsByName.get(key);
+            return id == null ? Optional.empty() : Optional.ofNullable(data.get(id));
+        } finally {
+            OperationTimers.record(findByNameTimer, start);
+        }
     }
 
     public Optional<Category> findById(Long id) {
-        return Optional.ofNullable(data.get(id));
+        long start = System.nanoTime();
+        try {
+            return Optional.ofNullable(data.get(id));
+        } finally {
+            OperationTimers.record(findByIdTimer, start);
+        }
     }
 
     public List<Category> getAll() {
-        return new ArrayList<>(data.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(data.values());
+        } finally {
+            OperationTimers.record(getAllTimer, start);
+        }
     }
 
     public void clear() {
-        data.clear();
+        long start = System.nanoTime();
+        try {
+            long position;
+            locks.lockAll();
+            try {
+                data.clear();
+                idsByName.clear();
+                namesById.clear();
+                version.incrementAndGet();
+                position = changeLog.append(LogRecord.clear());
+            } finally {
+                locks.unlockAll();
+            }
+            changeLog.awaitDurable(position);
+        } finally {
+            OperationTimers.record(clearTimer, start);
+        }
     }
 
+    // Bulk load at startup; keeps IDs from the source and bypasses the change log
     public void loadCategories(List<Category> categories) {
         for (Category category : categories) {
-            save(category);
+            if (category.getId() == null) {
+                category.setId(idGenerator.incrementAndGet());
+            }
+            data.put(category.getId(), category);
+            String name = nameKey(category);
+            // Files written before names were unique may repeat one; the first category keeps it
+            if (name != null && claimName(name, category.getId())) {
+                indexName(category.getId(), name);
+            }
         }
 
         Long maxId = data.keySet().stream().max(Long::compareTo).orElse(0L);
         idGenerator.set(maxId);
     }
 
+    // Re-applies a record read back from the change log, without logging it again
+    public void apply(LogRecord<Category> record) {
+        version.incrementAndGet();
+        switch (record.op()) {
+            case PUT -> {
+                Category category = record.entity();
+                category.setId(record.id());
+                data.put(record.id(), category);
+                // The log is authoritative, so the name moves even if an earlier record left it held
+                String name = nameKey(category);
+                if (name != null) {
+                    idsByName.put(name, record.id());
+                }
+                indexName(record.id(), name);
+                idGenerator.accumulateAndGet(record.id(), Math::max);
+            }
+            case DELETE -> {
+                data.remove(record.id());
+                indexName(record.id(), null);
+            }
+            case CLEAR -> {
+                data.clear();
+                idsByName.clear();
+                namesById.clear();
+            }
+        }
+    }
+
+    // Allocates an ID together with the name, so a rejected duplicate does not use one up
+    private long reserveName(String name) {
+        long[] reserved = new long[1];
+        idsByName.computeIfAbsent(name, key -> reserved[0] = idGenerator.incrementAndGet());
+        if (reserved[0] == 0) {
+            throw duplicateName();
+        }
+        return reserved[0];
+    }
+
+    // Whether the name is now held by this ID; callers hold the ID's stripe
+    private boolean claimName(String name, long id) {
+        Long holder = idsByName.putIfAbsent(name, id);
+        return holder == null || holder == id;
+    }
+
+    // Records the name the ID now holds, or null for none, and releases the one it held before
+    private void indexName(long id, String name) {
+        String previous = name == null ? namesById.remove(id) : namesById.put(id, name);
+        if (previous != null && !previous.equals(name)) {
+            idsByName.remove(previous, id);
+        }
+    }
+
+    // Only active categories hold their name
+    private static String nameKey(Category category) {
+        return category.getActive() ? foldName(category.getName()) : null;
+    }
+
+    /**
+     * Folds each character the way {@link String#equalsIgnoreCase} compares it, so
+     * two names are equal ignoring case exactly when their folded forms are equal.
+     */
+    static String foldName(String name) {
+        if (name == null) {
+            return null;
+        }
+        char[] folded = new char[name.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    private static IllegalArgumentException duplicateName() {
+        return new IllegalArgumentException("Category with the same name already exists");
+    }
+
+    public void setChangeLog(ChangeLog<Category> changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
     public AtomicLong getIdGenerator() {
         return idGenerator;
     }
@@ -0,0 +1,142 @@
+package com.example.inventory.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.inventory.model.Product;
+
+/**
+ * Column-oriented copy of the product fields that list queries scan.
+ * Each product owns a dense slot; stock and the active flag live in primitive
+ * arrays. Scans walk these arrays sequentially instead of chasing {@link Product}
+ * objects across the heap, and only touch the object of a row that matched. Name
+ * and category filters are served by the repository indexes and inventory metrics
+ * by its running totals, so only the unindexed availability filter runs here.
+ *
+ * Writers are serialized by a write lock held only for the slot update; scans
+ * share a read lock.
+ */
+public class ProductColumns {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    private Product[] rows = new Product[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] stocks = new double[INITIAL_CAPACITY];
+    private boolean[] active = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(product.getId());
+            if (slot == null) {
+                ensureCapacity(size + 1);
+                slot = size++;
+                slotsById.put(product.getId(), slot);
+            }
+            write(slot, product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            // Keep slots dense by moving the last row into the hole
+            int last = --size;
+            if (slot != last) {
+                moveSlot(last, slot);
+                slotsById.put(ids[slot], slot);
+            }
+            rows[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            Arrays.fill(rows, 0, size, null);
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the active products matching the in/out of stock flag, with the same
+     * semantics as the object-based filter.
+     */
+    public List<Product> filter(String available) {
+        boolean inStockOnly = "instock".equalsIgnoreCase(available);
+        boolean outOfStockOnly = "outofstock".equalsIgnoreCase(available);
+        List<Product> matches = new ArrayList<>();
+        if (available != null && !available.isEmpty() && !inStockOnly && !outOfStockOnly) {
+            // An unknown availability value matches nothing, as it does in the object filter
+            return matches;
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                if (!active[slot]
+                        || (inStockOnly && !(stocks[slot] > 0))
+                        || (outOfStockOnly && stocks[slot] != 0)) {
+                    continue;
+                }
+                matches.add(rows[slot]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private void write(int slot, Product product) {
+        rows[slot] = product;
+        ids[slot] = product.getId();
+        stocks[slot] = product.getStock();
+        active[slot] = product.isActive();
+    }
+
+    private void moveSlot(int from, int to) {
+        rows[to] = rows[from];
+        ids[to] = ids[from];
+        stocks[to] = stocks[from];
+        active[to] = active[from];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        rows = Arrays.copyOf(rows, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        stocks = Arrays.copyOf(stocks, capacity);
+        active = Arrays.copyOf(active, capacity);
+    }
+}
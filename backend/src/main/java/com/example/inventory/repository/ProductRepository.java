@@ -1,56 +1,563 @@
 package com.example.inventory.repository;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
+import com.example.inventory.model.Category;
 import com.example.inventory.model.Product;
+import com.example.inventory.persistence.ChangeLog;
+import com.example.inventory.persistence.LogRecord;
 
 @Repository
 public class ProductRepository {
-    private final Map<Long, Product> data = new HashMap<>();
+    private static final int LOCK_STRIPES = 64;
+
+    // Readers go straight to the map; writers serialize per ID through the stripes
+    private final Map<Long, Product> data = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(0);
+    private final StripedLock locks = new StripedLock(LOCK_STRIPES);
+    private volatile ChangeLog<Product> changeLog = ChangeLog.none();
+    // Active product IDs per category ID; products are often edited in place before updateById,
+    // so the category each ID was last indexed under is tracked separately
+    private final Map<Long, Set<Long>> idsByCategory = new ConcurrentHashMap<>();
+    private final Map<Long, Long> indexedCategories = new ConcurrentHashMap<>();
+    private final TrigramIndex nameIndex = new TrigramIndex();
+    // In-stock totals per category and overall, moved along with every write so metrics never scan
+    // products; each product's last counted values are kept to take them back out again
+    private final Map<Long, RunningTotals> totalsByCategory = new ConcurrentHashMap<>();
+    private final RunningTotals overallTotals = new RunningTotals();
+    private final Map<Long, StockContribution> contributions = new ConcurrentHashMap<>();
+    // Bumped on every write, globally and for each category whose listings the write can change
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Long, AtomicLong> categoryVersions = new ConcurrentHashMap<>();
+    // Optional column copy of the scanned fields, kept in step with the map under the same locks
+    private final ProductColumns columns;
+
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final Timer updateTimer;
+    private final Timer updateAllTimer;
+    private final Timer adjustStockTimer;
+    private final Timer deleteTimer;
+    private final Timer clearTimer;
+    private final Timer findByIdTimer;
+    private final Timer getAllTimer;
+    private final Timer findByCategoryTimer;
+    private final Timer findByNameTimer;
+    private final Timer inStockTotalsTimer;
+
+    public ProductRepository() {
+        this(false);
+    }
+
+    public ProductRepository(boolean columnar) {
+        this(columnar, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public ProductRepository(@Value("${inventory.storage.columnar:false}") boolean columnar,
+            MeterRegistry meterRegistry) {
+        this.columns = columnar ? new ProductColumns() : null;
+        OperationTimers timers = new OperationTimers(meterRegistry, "products");
+        this.saveTimer = timers.timer("save");
+        this.saveAllTimer = timers.timer("saveAll");
+        this.updateTimer = timers.timer("update");
+        this.updateAllTimer = timers.timer("updateAll");
+        this.adjustStockTimer = timers.timer("adjustStock");
+        this.deleteTimer = timers.timer("delete");
+        this.clearTimer = timers.timer("clear");
+        this.findByIdTimer = timers.timer("findById");
+        this.getAllTimer = timers.timer("getAll");
+        this.findByCategoryTimer = timers.timer("findByCategory");
+        this.findByNameTimer = timers.timer("findByName");
+        this.inStockTotalsTimer = timers.timer("inStockTotals");
+    }
 
     public Product save(Product product) {
-        product.setId(idGenerator.incrementAndGet());
-        data.put(product.getId(), product);
-        return product;
+        long start = System.nanoTime();
+        try {
+            long id = idGenerator.incrementAndGet();
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                product.setId(id);
+                data.put(id, product);
+                index(product);
+                if (columns != null) {
+                    columns.upsert(product);
+                }
+                position = changeLog.append(LogRecord.put(id, product));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return product;
+        } finally {
+            OperationTimers.record(saveTimer, start);
+        }
+    }
+
+    /**
+     * Saves a batch in one write pass: all stripes are taken once, every product gets
+     * an ID and a log record, and the caller waits for a single durable flush.
+     */
+    public List<Product> saveAll(List<Product> products) {
+        return writeAll(products, true);
+    }
+
+    // Same as saveAll for products that already carry their ID
+    public List<Product> updateAll(List<Product> products) {
+        return writeAll(products, false);
+    }
+
+    private List<Product> writeAll(List<Product> products, boolean assignIds) {
+        long start = System.nanoTime();
+        try {
+            if (products.isEmpty()) {
+                return products;
+            }
+            long position = -1;
+            locks.lockAll();
+            try {
+                for (Product product : products) {
+                    if (assignIds) {
+                        product.setId(idGenerator.incrementAndGet());
+                    }
+                    data.put(product.getId(), product);
+                    index(product);
+                    if (columns != null) {
+                        columns.upsert(product);
+                    }
+                    position = changeLog.append(LogRecord.put(product.getId(), product));
+                }
+            } finally {
+                locks.unlockAll();
+            }
+            changeLog.awaitDurable(position);
+            return products;
+        } finally {
+            OperationTimers.record(assignIds ? saveAllTimer : updateAllTimer, start);
+        }
     }
 
     public Product updateById(Long id, Product product) {
-        product.setId(id);
-        data.put(id, product);
-        return product;
+        long start = System.nanoTime();
+        try {
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                product.setId(id);
+                data.put(id, product);
+                index(product);
+                if (columns != null) {
+                    columns.upsert(product);
+                }
+                position = changeLog.append(LogRecord.put(id, product));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return product;
+        } finally {
+            OperationTimers.record(updateTimer, start);
+        }
+    }
+
+    /**
+     * Adds a signed delta to a product's stock under its stripe lock, so concurrent
+     * adjustments to the same product never overwrite each other and adjustments to
+     * other products proceed in parallel. The change is rejected with an
+     * IllegalStateException when the new stock would leave [floor, ceiling].
+     */
+    public Product adjustStock(Long id, double delta, double floor, double ceiling) {
+        long start = System.nanoTime();
+        try {
+            long position;
+            Product product;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                product = data.get(id);
+                // Soft-deleted products are gone as far as callers are concerned
+                if (product == null || !product.isActive()) {
+                    throw new IllegalArgumentException("Product not found with ID: " + id);
+                }
+                double stock = product.getStock() + delta;
+                if (stock < floor || stock > ceiling) {
+                    throw new IllegalStateException("Stock would become " + stock + ", outside [" + floor + ", "
+                            + ceiling + "]");
+                }
+                product.setStock(stock);
+                product.setUpdateDate(LocalDate.now());
+                index(product);
+                if (columns != null) {
+                    columns.upsert(product);
+                }
+                position = changeLog.append(LogRecord.put(id, product));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return product;
+        } finally {
+            OperationTimers.record(adjustStockTimer, start);
+        }
     }
 
     public boolean deleteById(Long id) {
-        return data.remove(id) != null;
+        long start = System.nanoTime();
+        try {
+            long position;
+            ReentrantLock lock = locks.forId(id);
+            lock.lock();
+            try {
+                if (data.remove(id) == null) {
+                    return false;
+                }
+                unindex(id);
+                if (columns != null) {
+                    columns.remove(id);
+                }
+                position = changeLog.append(LogRecord.delete(id));
+            } finally {
+                lock.unlock();
+            }
+            changeLog.awaitDurable(position);
+            return true;
+        } finally {
+            OperationTimers.record(deleteTimer, start);
+        }
     }
 
     public Optional<Product> findById(Long id) {
-        return Optional.ofNullable(data.get(id));
+        long start = System.nanoTime();
+        try {
+            return Optional.ofNullable(data.get(id));
+        } finally {
+            OperationTimers.record(findByIdTimer, start);
+        }
     }
 
     public List<Product> getAll() {
-        return new ArrayList<>(data.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(data.values());
+        } finally {
+            OperationTimers.record(getAllTimer, start);
+        }
+    }
+
+    /**
+     * Iterates the live store without copying it. The iterator is weakly consistent:
+     * every product present for the whole iteration is returned exactly once, and
+     * products written meanwhile may or may not show up.
+     */
+    public Iterator<Product> iterator() {
+        return data.values().iterator();
+    }
+
+    /**
+     * Returns the active products in any of the given categories, touching only
+     * those products. Callers still check the returned products, since an edit
+     * made in place is only indexed once it goes through updateById.
+     */
+    public List<Product> findByCategoryIds(Collection<Long> categoryIds) {
+        long start = System.nanoTime();
+        try {
+            List<Product> products = new ArrayList<>();
+            for (Long categoryId : new HashSet<>(categoryIds)) {
+                Set<Long> ids = categoryId == null ? null : idsByCategory.get(categoryId);
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Product product = data.get(id);
+                    if (product != null) {
+                        products.add(product);
+                    }
+                }
+            }
+            return products;
+        } finally {
+            OperationTimers.record(findByCategoryTimer, start);
+        }
     }
 
     public void clear() {
-        data.clear();
+        long start = System.nanoTime();
+        try {
+            long position;
+            locks.lockAll();
+            try {
+                data.clear();
+                clearIndexes();
+                if (columns != null) {
+                    columns.clear();
+                }
+                position = changeLog.append(LogRecord.clear());
+            } finally {
+                locks.unlockAll();
+            }
+            changeLog.awaitDurable(position);
+        } finally {
+            OperationTimers.record(clearTimer, start);
+        }
     }
 
     public void loadProducts(List<Product> products) {
         for (Product product : products) {
-            save(product);
+            loadProduct(product);
+        }
+    }
+
+    // Bulk load at startup; keeps the source ID, tracks the max ID in the same pass
+    // and bypasses the change log
+    public void loadProduct(Product product) {
+        if (product.getId() == null) {
+            product.setId(idGenerator.incrementAndGet());
+        } else {
+            idGenerator.accumulateAndGet(product.getId(), Math::max);
+        }
+        data.put(product.getId(), product);
+        index(product);
+        if (columns != null) {
+            columns.upsert(product);
+        }
+    }
+
+    /**
+     * Points loaded products, and the per-category totals that report category
+     * names, at the shared instances returned by the lookup. The category IDs stay
+     * the same, so no index changes and nothing is reindexed. Returns how many
+     * products were resolved.
+     */
+    public long resolveCategories(Function<Long, Category> lookup) {
+        long resolved = 0;
+        for (Product product : data.values()) {
+            Category category = product.getCategory();
+            if (category == null || category.getId() == null) {
+                continue;
+            }
+            Category shared = lookup.apply(category.getId());
+            if (shared == null) {
+                continue;
+            }
+            ReentrantLock lock = locks.forId(product.getId());
+            lock.lock();
+            try {
+                // A concurrent update may already have assigned a category of its own
+                if (product.getCategory() == category) {
+                    product.setCategory(shared);
+                    resolved++;
+                }
+            } finally {
+                lock.unlock();
+            }
         }
+        for (Map.Entry<Long, RunningTotals> entry : totalsByCategory.entrySet()) {
+            Category shared = lookup.apply(entry.getKey());
+            if (shared != null) {
+                entry.getValue().resolveCategory(shared);
+            }
+        }
+        return resolved;
+    }
+
+    // Re-applies a record read back from the change log, without logging it again
+    public void apply(LogRecord<Product> record) {
+        switch (record.op()) {
+            case PUT -> {
+                Product product = record.entity();
+                product.setId(record.id());
+                data.put(record.id(), product);
+                index(product);
+                idGenerator.accumulateAndGet(record.id(), Math::max);
+                if (columns != null) {
+                    columns.upsert(product);
+                }
+            }
+            case DELETE -> {
+                data.remove(record.id());
+                unindex(record.id());
+                if (columns != null) {
+                    columns.remove(record.id());
+                }
+            }
+            case CLEAR -> {
+                data.clear();
+                clearIndexes();
+                if (columns != null) {
+                    columns.clear();
+                }
+            }
+        }
+    }
+
+    // Called with the product's stripe held, or while loading, where each ID has a single writer
+    private void index(Product product) {
+        Long id = product.getId();
+        nameIndex.put(id, product.getName());
+        Category category = product.getCategory();
+        Long categoryId = product.isActive() && category != null ? category.getId() : null;
+        Long previous = categoryId == null ? indexedCategories.remove(id) : indexedCategories.put(id, categoryId);
+        bumpVersion(previous);
+        bumpVersion(category == null ? null : category.getId());
+        if (previous != null && !previous.equals(categoryId)) {
+            Set<Long> ids = idsByCategory.get(previous);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        if (categoryId != null) {
+            idsByCategory.computeIfAbsent(categoryId, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        // Metrics count every product with stock, active or not
+        StockContribution contribution = product.getStock() > 0
+                ? new StockContribution(category, product.getPrice(), product.getStock())
+                : null;
+        withdraw(contribution == null ? contributions.remove(id) : contributions.put(id, contribution));
+        if (contribution != null) {
+            overallTotals.add(null, contribution.price(), contribution.stock());
+            Long totalsId = contribution.categoryId();
+            if (totalsId != null) {
+                totalsByCategory.computeIfAbsent(totalsId, key -> new RunningTotals())
+                        .add(category, contribution.price(), contribution.stock());
+            }
+        }
+    }
+
+    private void unindex(Long id) {
+        nameIndex.remove(id);
+        Long previous = indexedCategories.remove(id);
+        bumpVersion(previous);
+        if (previous != null) {
+            Set<Long> ids = idsByCategory.get(previous);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        withdraw(contributions.remove(id));
+    }
+
+    private void withdraw(StockContribution previous) {
+        if (previous == null) {
+            return;
+        }
+        overallTotals.remove(previous.price(), previous.stock());
+        Long totalsId = previous.categoryId();
+        if (totalsId != null) {
+            RunningTotals totals = totalsByCategory.get(totalsId);
+            if (totals != null) {
+                totals.remove(previous.price(), previous.stock());
+            }
+        }
+    }
+
+    private void clearIndexes() {
+        idsByCategory.clear();
+        indexedCategories.clear();
+        nameIndex.clear();
+        totalsByCategory.clear();
+        contributions.clear();
+        overallTotals.reset();
+        version.incrementAndGet();
+        categoryVersions.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private void bumpVersion(Long categoryId) {
+        version.incrementAndGet();
+        if (categoryId != null) {
+            categoryVersions.computeIfAbsent(categoryId, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    // Changes whenever any product is written
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Changes whenever a write may add, change or remove an active product in the category
+    public long getCategoryVersion(Long categoryId) {
+        AtomicLong categoryVersion = categoryId == null ? null : categoryVersions.get(categoryId);
+        return categoryVersion == null ? 0 : categoryVersion.get();
+    }
+
+    /**
+     * Returns the in-stock totals per category in ID order, followed by the overall
+     * totals under ID 0, which also count products without a category. Costs one
+     * step per category, whatever the catalog size.
+     */
+    public List<StockTotals> getInStockTotals() {
+        long start = System.nanoTime();
+        try {
+            List<StockTotals> totals = new ArrayList<>();
+            for (Map.Entry<Long, RunningTotals> entry : new TreeMap<>(totalsByCategory).entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    totals.add(entry.getValue().snapshot(entry.getKey(), null));
+                }
+            }
+            totals.add(overallTotals.snapshot(0L, "Overall"));
+            return totals;
+        } finally {
+            OperationTimers.record(inStockTotalsTimer, start);
+        }
+    }
+
+    private record StockContribution(Category category, double price, double stock) {
+        Long categoryId() {
+            return category == null ? null : category.getId();
+        }
+    }
+
+    /**
+     * Returns the products whose name contains the query, ignoring case, using the
+     * trigram index. Inactive products are included; callers filter them.
+     */
+    public List<Product> findByNameContaining(String query) {
+        long start = System.nanoTime();
+        try {
+            List<Product> products = new ArrayList<>();
+            for (Long id : nameIndex.search(query)) {
+                Product product = data.get(id);
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+            return products;
+        } finally {
+            OperationTimers.record(findByNameTimer, start);
+        }
+    }
+
+    // Null unless the columnar store is enabled; callers then fall back to scanning getAll()
+    public ProductColumns columns() {
+        return columns;
+    }
 
-        Long maxId = data.keySet().stream().max(Long::compareTo).orElse(0L);
-        idGenerator.set(maxId);
+    public void setChangeLog(ChangeLog<Product> changeLog) {
+        this.changeLog = changeLog;
     }
 
     public AtomicLong getIdGenerator() {
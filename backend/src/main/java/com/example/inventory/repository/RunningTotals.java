@@ -0,0 +1,97 @@
+package com.example.inventory.repository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.inventory.model.Category;
+
+/**
+ * In-stock totals for one category (or the whole catalog) that products are added
+ * to and taken back out of as they change. Sums are reset exactly to zero when the
+ * last product leaves, so rounding error cannot build up in an empty group.
+ *
+ * Writers from every stripe of a category meet here, so the guard is a lock that
+ * virtual threads can park on without pinning their carrier.
+ */
+final class RunningTotals {
+    private final ReentrantLock lock = new ReentrantLock();
+    private Category category;
+    private long count;
+    private double priceSum;
+    private double stockSum;
+    private double valueSum;
+
+    void add(Category category, double price, double stock) {
+        lock.lock();
+        try {
+            if (category != null) {
+                this.category = category;
+            }
+            count++;
+            priceSum += price;
+            stockSum += stock;
+            valueSum += price * stock;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Swaps in another instance of the same category, leaving the sums alone
+    void resolveCategory(Category category) {
+        lock.lock();
+        try {
+            this.category = category;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(double price, double stock) {
+        lock.lock();
+        try {
+            if (--count == 0) {
+                priceSum = 0;
+                stockSum = 0;
+                valueSum = 0;
+                return;
+            }
+            priceSum -= price;
+            stockSum -= stock;
+            valueSum -= price * stock;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            category = null;
+            count = 0;
+            priceSum = 0;
+            stockSum = 0;
+            valueSum = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return count == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The name is read from the latest category instance, so renames show up without a write
+    StockTotals snapshot(Long categoryId, String fallbackName) {
+        lock.lock();
+        try {
+            String name = category == null ? fallbackName : category.getName();
+            return new StockTotals(categoryId, name, count, stockSum, valueSum, priceSum);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.inventory.repository;
+
+/**
+ * In-stock totals for one category, or for the whole catalog: how many products
+ * there are, their combined stock and value, and the price sum behind the average.
+ */
+public class StockTotals {
+    private final Long categoryId;
+    private final String categoryName;
+    private final long count;
+    private final double totalStock;
+    private final double totalValue;
+    private final double priceSum;
+
+    public StockTotals(Long categoryId, String categoryName, long count, double totalStock, double totalValue,
+            double priceSum) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.count = count;
+        this.totalStock = totalStock;
+        this.totalValue = totalValue;
+        this.priceSum = priceSum;
+    }
+
+    public Long getCategoryId() {
+        return this.categoryId;
+    }
+
+    public String getCategoryName() {
+        return this.categoryName;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getTotalStock() {
+        return this.totalStock;
+    }
+
+    public double getTotalValue() {
+        return this.totalValue;
+    }
+
+    public double getAveragePrice() {
+        return count == 0 ? 0.0 : priceSum / count;
+    }
+}
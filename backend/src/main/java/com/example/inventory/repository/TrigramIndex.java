@@ -0,0 +1,118 @@
+package com.example.inventory.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from the trigrams of lowercased names to IDs, for substring
+ * search. A query of three or more characters intersects the posting lists of
+ * its trigrams, smallest first, and only verifies the surviving candidates.
+ * Shorter queries scan the stored lowercase names, which still avoids
+ * lowercasing every name per request.
+ *
+ * Updates for one ID must not run concurrently; readers may run at any time and
+ * see each posting list change atomically.
+ */
+final class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    void put(long id, String name) {
+        String normalized = name == null ? null : name.toLowerCase();
+        String previous = normalized == null ? names.remove(id) : names.put(id, normalized);
+        if (previous != null && previous.equals(normalized)) {
+            return;
+        }
+
+        Set<Long> added = normalized == null ? Set.of() : trigrams(normalized);
+        if (previous != null) {
+            for (long gram : trigrams(previous)) {
+                if (!added.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+        }
+        for (long gram : added) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    void remove(long id) {
+        String previous = names.remove(id);
+        if (previous != null) {
+            for (long gram : trigrams(previous)) {
+                removePosting(gram, id);
+            }
+        }
+    }
+
+    void clear() {
+        names.clear();
+        postings.clear();
+    }
+
+    /**
+     * Returns the IDs whose lowercased name contains the lowercased query.
+     */
+    List<Long> search(String query) {
+        String needle = query.toLowerCase();
+        List<Long> matches = new ArrayList<>();
+        if (needle.length() < GRAM) {
+            for (Map.Entry<Long, String> entry : names.entrySet()) {
+                if (entry.getValue().contains(needle)) {
+                    matches.add(entry.getKey());
+                }
+            }
+            return matches;
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long gram : trigrams(needle)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null || posting.isEmpty()) {
+                return matches;
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> smallest = lists.get(0);
+        candidates:
+        for (Long id : smallest) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidates;
+                }
+            }
+            // Trigrams can all be present without being adjacent, so confirm the substring
+            String name = names.get(id);
+            if (name != null && name.contains(needle)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private void removePosting(long gram, long id) {
+        Set<Long> posting = postings.get(gram);
+        if (posting != null) {
+            posting.remove(id);
+        }
+    }
+
+    // Packs three UTF-16 chars into one long key
+    private static Set<Long> trigrams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add((long) value.charAt(i) << 32 | (long) value.charAt(i + 1) << 16 | value.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -1,20 +1,69 @@
 package com.example.inventory.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.example.inventory.config.JacksonConfig;
 import com.example.inventory.model.Category;
+import com.example.inventory.persistence.BinarySnapshotWriter;
+import com.example.inventory.persistence.ChangeLog;
+import com.example.inventory.persistence.MappedSnapshot;
+import com.example.inventory.persistence.LogRecord;
+import com.example.inventory.persistence.WriteAheadLog;
 
 @Service
 public class CategoryFileStorageService {
     private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
     private final Path filePath = Paths.get("./src/main/resources/categories.json");
+    private final Path snapshotPath;
+    private final Path binarySnapshotPath;
+    private final boolean binarySnapshots;
+    private final WriteAheadLog<Category> writeAheadLog;
+
+    public CategoryFileStorageService(boolean persistenceEnabled, String persistenceDirectory, boolean fsync,
+            String snapshotFormat) {
+        this(persistenceEnabled, persistenceDirectory, fsync, snapshotFormat, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public CategoryFileStorageService(
+            @Value("${inventory.persistence.enabled:true}") boolean persistenceEnabled,
+            @Value("${inventory.persistence.directory:./data}") String persistenceDirectory,
+            @Value("${inventory.persistence.fsync:true}") boolean fsync,
+            @Value("${inventory.persistence.snapshot-format:json}") String snapshotFormat,
+            MeterRegistry meterRegistry) {
+        this.snapshotPath = Paths.get(persistenceDirectory, "categories.snapshot.json");
+        this.binarySnapshotPath = Paths.get(persistenceDirectory, "categories.snapshot.bin");
+        this.binarySnapshots = "binary".equalsIgnoreCase(snapshotFormat);
+        this.writeAheadLog = persistenceEnabled
+                ? new WriteAheadLog<>(Paths.get(persistenceDirectory, "categories.wal"), objectMapper, Category.class, fsync)
+                : null;
+        if (writeAheadLog != null) {
+            Timer syncTimer = ProductFileStorageService.syncTimer(meterRegistry, "categories");
+            writeAheadLog.setSyncListener(nanos -> syncTimer.record(nanos, TimeUnit.NANOSECONDS));
+        }
+    }
 
     public void saveCategories(List<Category> categories) {
         try {
@@ -24,10 +73,24 @@ public class CategoryFileStorageService {
         }
     }
 
+    // Prefers the latest snapshot, binary or JSON, over the bundled seed file
     public List<Category> loadCategories() {
+        if (Files.exists(binarySnapshotPath)) {
+            try (MappedSnapshot snapshot = MappedSnapshot.open(binarySnapshotPath)) {
+                List<Category> categories = new ArrayList<>(snapshot.size());
+                for (int i = 0; i < snapshot.size(); i++) {
+                    categories.add(snapshot.category(i));
+                }
+                return categories;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load categories from binary snapshot", e);
+            }
+        }
+
+        Path source = Files.exists(snapshotPath) ? snapshotPath : filePath;
         try {
-            if (filePath.toFile().exists()) {
-                return objectMapper.readValue(filePath.toFile(),
+            if (source.toFile().exists()) {
+                return objectMapper.readValue(source.toFile(),
                         objectMapper.getTypeFactory().constructCollectionType(List.class, Category.class));
             } else {
                 return List.of(); // Return an empty list if the file does not exist
@@ -37,6 +100,83 @@ public class CategoryFileStorageService {
         }
     }
 
+    /**
+     * Replays the write-ahead log into the given consumer and opens it for appends.
+     * Returns a no-op change log when persistence is disabled.
+     */
+    public ChangeLog<Category> openLog(Consumer<LogRecord<Category>> replayConsumer) {
+        if (writeAheadLog == null) {
+            return ChangeLog.none();
+        }
+        writeAheadLog.replay(replayConsumer);
+        writeAheadLog.open();
+        return writeAheadLog;
+    }
+
+    /**
+     * Writes a snapshot of the current state and drops the log records it covers.
+     * The log is rotated before the state is read, so every record in the rotated
+     * segment is already reflected in the snapshot; records appended meanwhile land
+     * in the new segment and are replayed on top of it. Returns the snapshot size in
+     * bytes, or -1 when the log is not open yet.
+     */
+    public long checkpoint(Supplier<List<Category>> currentState) {
+        if (writeAheadLog == null || !writeAheadLog.isOpen()) {
+            return -1;
+        }
+        writeAheadLog.rotate();
+        long bytes = binarySnapshots ? writeBinarySnapshot(currentState.get()) : writeSnapshot(currentState.get());
+        writeAheadLog.discardPreviousSegment();
+        return bytes;
+    }
+
+    public long getPendingLogRecords() {
+        return writeAheadLog == null ? 0 : writeAheadLog.getRecordsSinceRotation();
+    }
+
+    private long writeSnapshot(List<Category> categories) {
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+            objectMapper.writeValue(out, categories);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write categories snapshot", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write categories snapshot", e);
+        }
+
+        try {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(binarySnapshotPath);
+            return Files.size(snapshotPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to publish categories snapshot", e);
+        }
+    }
+
+    private long writeBinarySnapshot(List<Category> categories) {
+        Path tempPath = binarySnapshotPath.resolveSibling(binarySnapshotPath.getFileName() + ".tmp");
+        try {
+            long bytes = BinarySnapshotWriter.writeCategories(tempPath, categories);
+            Files.move(tempPath, binarySnapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(snapshotPath);
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write categories binary snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    public void closeLog() {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
     public void clear() {
         try {
             if (filePath.toFile().exists()) {
@@ -17,14 +17,9 @@ public class CategoryService {
         this.categoryRepository = categoryRepository;
     }
 
+    // The repository rejects a name another active category holds, ignoring case
     public Category saveCategory(Category category) {
-        if (categoryRepository.getAll().stream().filter(cat -> cat.getActive())
-                .anyMatch(existingCategory -> existingCategory.getName().equalsIgnoreCase(category.getName()))) {
-            throw new IllegalArgumentException("Category with the same name already exists");
-        }
-
-        Category savedCategory = categoryRepository.save(category);
-        return savedCategory;
+        return categoryRepository.save(category);
     }
 
     public List<Category> getAllActiveCategories() {
@@ -37,6 +32,10 @@ public class CategoryService {
         return categoryRepository.getAll();
     }
 
+    public Optional<Category> getCategoryByName(String name) {
+        return categoryRepository.findByName(name);
+    }
+
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id)
                 .filter(Category::getActive);
@@ -46,21 +45,12 @@ public class CategoryService {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid category ID"));
 
-        if (categoryRepository.getAll().stream().filter(cat -> cat.getActive())
-                .anyMatch(existingCategoryAux -> existingCategoryAux.getName().equalsIgnoreCase(category.getName())
-                        && !existingCategoryAux.getId().equals(id))) {
-            throw new IllegalArgumentException("Category with the same name already exists");
-        }
-
         if (!existingCategory.getActive()) {
             throw new IllegalArgumentException("Category does not exist");
         }
 
-        existingCategory.setName(category.getName());
-        existingCategory.setUpdateDate(LocalDate.now());
-
-        Category updatedCategory = categoryRepository.updateById(id, existingCategory);
-        return updatedCategory;
+        // Checked and applied atomically, so a concurrent write cannot take the name in between
+        return categoryRepository.rename(id, category.getName());
     }
 
     public void deleteCategoryById(Long id) {
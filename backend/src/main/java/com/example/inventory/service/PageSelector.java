@@ -0,0 +1,73 @@
+package com.example.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Picks one page of a sorted result without sorting everything. Shallow pages
+ * keep only the first {@code (page + 1) * size} elements in a bounded max-heap,
+ * which costs O(n log k); once a page reaches deep enough into the results that
+ * the heap no longer pays off, the list is sorted in full.
+ *
+ * Ties are broken by the position in the input, so both paths return exactly
+ * what a stable sort followed by skip/limit would.
+ */
+public final class PageSelector {
+    // The heap wins while it keeps at most this fraction of the input
+    static final int HEAP_MAX_FRACTION = 8;
+
+    private PageSelector() {
+    }
+
+    public static <T> List<T> page(List<T> items, Comparator<? super T> comparator, int page, int size) {
+        if (page < 0 || size < 0) {
+            throw new IllegalArgumentException("Page and size must not be negative");
+        }
+        long offset = (long) page * size;
+        int n = items.size();
+        if (offset >= n || size == 0) {
+            return new ArrayList<>();
+        }
+        int limit = (int) Math.min(n, offset + size);
+
+        if ((long) limit * HEAP_MAX_FRACTION > n) {
+            List<T> sorted = new ArrayList<>(items);
+            sorted.sort(comparator);
+            return new ArrayList<>(sorted.subList((int) offset, limit));
+        }
+        return new ArrayList<>(topK(items, comparator, limit).subList((int) offset, limit));
+    }
+
+    // Returns the first k elements in sorted order
+    static <T> List<T> topK(List<T> items, Comparator<? super T> comparator, int k) {
+        Comparator<Integer> byItem = (a, b) -> {
+            int result = comparator.compare(items.get(a), items.get(b));
+            return result != 0 ? result : Integer.compare(a, b);
+        };
+
+        // Max-heap of the best k positions seen so far; its head is the one to evict
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, byItem.reversed());
+        for (int i = 0; i < items.size(); i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (byItem.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        T[] selected = newArray(heap.size());
+        for (int i = selected.length - 1; i >= 0; i--) {
+            selected[i] = items.get(heap.poll());
+        }
+        return new ArrayList<>(Arrays.asList(selected));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int length) {
+        return (T[]) new Object[length];
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.inventory.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Opaque position for keyset paging: the sort fields and ID of the last product
+ * on a page, plus the sort order they belong to. Clients pass it back unchanged,
+ * and the next page starts strictly after that product in the same order.
+ */
+final class ProductCursor {
+    private static final byte VERSION = 1;
+
+    private final String sortOrder;
+    private final Product anchor;
+
+    private ProductCursor(String sortOrder, Product anchor) {
+        this.sortOrder = sortOrder;
+        this.anchor = anchor;
+    }
+
+    String sortOrder() {
+        return sortOrder;
+    }
+
+    // A product carrying only the fields the comparators read, to compare candidates against
+    Product anchor() {
+        return anchor;
+    }
+
+    static String encode(String sortOrder, Product last) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(sortOrder);
+            out.writeLong(last.getId());
+            writeNullable(out, last.getName());
+            out.writeDouble(last.getPrice());
+            out.writeDouble(last.getStock());
+            writeNullable(out, last.getCategory() == null ? null : last.getCategory().getName());
+            out.writeBoolean(last.getExpirationDate() != null);
+            if (last.getExpirationDate() != null) {
+                out.writeLong(last.getExpirationDate().toEpochDay());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static ProductCursor decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortOrder = in.readUTF();
+            Product anchor = new Product();
+            anchor.setId(in.readLong());
+            anchor.setName(readNullable(in));
+            anchor.setPrice(in.readDouble());
+            anchor.setStock(in.readDouble());
+            String categoryName = readNullable(in);
+            anchor.setCategory(categoryName == null ? null : new Category(categoryName));
+            anchor.setExpirationDate(in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null);
+            return new ProductCursor(sortOrder, anchor);
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,20 +1,105 @@
 package com.example.inventory.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.model.Category;
 import com.example.inventory.model.Product;
+import com.example.inventory.persistence.AsyncChangeLog;
+import com.example.inventory.persistence.BinarySnapshotWriter;
+import com.example.inventory.persistence.ChangeLog;
+import com.example.inventory.persistence.MappedSnapshot;
+import com.example.inventory.persistence.LogRecord;
+import com.example.inventory.persistence.WriteAheadLog;
 
+/**
+ * File persistence for products: the seed file, snapshots and the write-ahead log.
+ *
+ * The writer mode decides who pays for log I/O. {@code direct} appends and syncs
+ * on the request thread. {@code sync} and {@code async} hand records to an
+ * {@link AsyncChangeLog} whose virtual-thread writer batches and coalesces them;
+ * {@code sync} still waits for the flush before a write returns, {@code async}
+ * returns as soon as the record is queued.
+ */
 @Service
 public class ProductFileStorageService {
+    private static final int BINARY_LOAD_CHUNK = 65_536;
+
     private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
     private final Path filePath = Paths.get("./src/main/resources/products.json");
+    private final Path snapshotPath;
+    private final Path binarySnapshotPath;
+    private final boolean binarySnapshots;
+    private final WriteAheadLog<Product> writeAheadLog;
+    private final String writerMode;
+    private final int writerQueueCapacity;
+    private final int writerMaxBatch;
+    private final MeterRegistry meterRegistry;
+    private volatile AsyncChangeLog<Product> asyncLog;
+
+    public ProductFileStorageService(boolean persistenceEnabled, String persistenceDirectory, boolean fsync,
+            String snapshotFormat) {
+        this(persistenceEnabled, persistenceDirectory, fsync, snapshotFormat, "direct", 1, 1,
+                new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public ProductFileStorageService(
+            @Value("${inventory.persistence.enabled:true}") boolean persistenceEnabled,
+            @Value("${inventory.persistence.directory:./data}") String persistenceDirectory,
+            @Value("${inventory.persistence.fsync:true}") boolean fsync,
+            @Value("${inventory.persistence.snapshot-format:json}") String snapshotFormat,
+            @Value("${inventory.persistence.writer.mode:sync}") String writerMode,
+            @Value("${inventory.persistence.writer.queue-capacity:10000}") int writerQueueCapacity,
+            @Value("${inventory.persistence.writer.max-batch:1000}") int writerMaxBatch,
+            MeterRegistry meterRegistry) {
+        if (!List.of("direct", "sync", "async").contains(writerMode.toLowerCase())) {
+            throw new IllegalArgumentException("Unknown persistence writer mode: " + writerMode);
+        }
+        this.writerMode = writerMode.toLowerCase();
+        this.writerQueueCapacity = writerQueueCapacity;
+        this.writerMaxBatch = writerMaxBatch;
+        this.meterRegistry = meterRegistry;
+        this.snapshotPath = Paths.get(persistenceDirectory, "products.snapshot.json");
+        this.binarySnapshotPath = Paths.get(persistenceDirectory, "products.snapshot.bin");
+        this.binarySnapshots = "binary".equalsIgnoreCase(snapshotFormat);
+        this.writeAheadLog = persistenceEnabled
+                ? new WriteAheadLog<>(Paths.get(persistenceDirectory, "products.wal"), objectMapper, Product.class,
+                        fsync)
+                : null;
+        if (writeAheadLog != null) {
+            Timer syncTimer = syncTimer(meterRegistry, "products");
+            writeAheadLog.setSyncListener(nanos -> syncTimer.record(nanos, TimeUnit.NANOSECONDS));
+        }
+    }
 
     public void saveProducts(List<Product> products) {
         try {
@@ -24,19 +109,183 @@ public class ProductFileStorageService {
         }
     }
 
-    public List<Product> loadProducts() {
-        try {
-            if (filePath.toFile().exists()) {
-                return objectMapper.readValue(filePath.toFile(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, Product.class));
-            } else {
-                return List.of(); // Return an empty list if the file does not exist
+    /**
+     * Streams products from the latest snapshot, or the bundled seed file, into the
+     * consumer one record at a time so the whole file is never held in memory.
+     * Binary snapshots only store category IDs, which the resolver turns back into
+     * categories, and are decoded in parallel chunks, so the consumer must be
+     * thread-safe. Returns the number of products read.
+     */
+    public long loadProducts(Consumer<Product> consumer, LongFunction<Category> categoryResolver) {
+        if (Files.exists(binarySnapshotPath)) {
+            try (MappedSnapshot snapshot = MappedSnapshot.open(binarySnapshotPath)) {
+                // Records are independent, so fixed-size chunks decode in parallel
+                int chunks = (snapshot.size() + BINARY_LOAD_CHUNK - 1) / BINARY_LOAD_CHUNK;
+                IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                    int end = Math.min(snapshot.size(), (chunk + 1) * BINARY_LOAD_CHUNK);
+                    for (int i = chunk * BINARY_LOAD_CHUNK; i < end; i++) {
+                        consumer.accept(snapshot.product(i, categoryResolver));
+                    }
+                });
+                return snapshot.size();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load products from binary snapshot", e);
             }
+        }
+
+        Path source = Files.exists(snapshotPath) ? snapshotPath : filePath;
+        if (!source.toFile().exists()) {
+            return 0;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(source.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of products in " + source);
+            }
+
+            ObjectReader reader = objectMapper.readerFor(Product.class);
+            long count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(reader.readValue(parser));
+                count++;
+            }
+            return count;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load products from file", e);
         }
     }
 
+    /**
+     * Replays the write-ahead log into the given consumer and opens it for appends,
+     * behind the async writer unless the mode is {@code direct}. Returns a no-op
+     * change log when persistence is disabled.
+     */
+    public ChangeLog<Product> openLog(Consumer<LogRecord<Product>> replayConsumer) {
+        if (writeAheadLog == null) {
+            return ChangeLog.none();
+        }
+        writeAheadLog.replay(replayConsumer);
+        writeAheadLog.open();
+        if ("direct".equals(writerMode)) {
+            return writeAheadLog;
+        }
+        asyncLog = new AsyncChangeLog<>(writeAheadLog, Product::copy, writerQueueCapacity, writerMaxBatch,
+                "sync".equals(writerMode), flushListener());
+        Gauge.builder("inventory.persistence.writer.queue.depth", asyncLog, AsyncChangeLog::getQueueDepth)
+                .tag("store", "products")
+                .description("Product log records waiting for the writer")
+                .register(meterRegistry);
+        Gauge.builder("inventory.persistence.writer.failed", asyncLog, l -> l.isFailed() ? 1 : 0)
+                .tag("store", "products")
+                .description("1 once the product log writer has stopped on a failed write")
+                .register(meterRegistry);
+        return asyncLog;
+    }
+
+    static Timer syncTimer(MeterRegistry meterRegistry, String store) {
+        return Timer.builder("inventory.persistence.sync")
+                .tag("store", store)
+                .description("Time for one write-ahead log fsync, shared by every record it covers")
+                .register(meterRegistry);
+    }
+
+    // Received versus written counts give the coalescing ratio; the timer covers append plus fsync per batch
+    private AsyncChangeLog.FlushListener flushListener() {
+        Timer flushTimer = Timer.builder("inventory.persistence.writer.flush")
+                .tag("store", "products")
+                .description("Time to write and sync one batch of product log records")
+                .register(meterRegistry);
+        Counter received = Counter.builder("inventory.persistence.writer.records")
+                .tag("store", "products")
+                .tag("stage", "received")
+                .register(meterRegistry);
+        Counter written = Counter.builder("inventory.persistence.writer.records")
+                .tag("store", "products")
+                .tag("stage", "written")
+                .register(meterRegistry);
+        Gauge.builder("inventory.persistence.writer.coalescing.ratio", () -> received.count() == 0 ? 1.0
+                        : written.count() / received.count())
+                .tag("store", "products")
+                .description("Records written per record received; lower means more updates were coalesced")
+                .register(meterRegistry);
+        return (receivedCount, writtenCount, nanos) -> {
+            flushTimer.record(nanos, TimeUnit.NANOSECONDS);
+            received.increment(receivedCount);
+            written.increment(writtenCount);
+        };
+    }
+
+    /**
+     * Writes a snapshot of the current state and drops the log records it covers.
+     * The log is rotated before the state is read, so every record in the rotated
+     * segment is already reflected in the snapshot; records appended meanwhile land
+     * in the new segment and are replayed on top of it. Returns the snapshot size in
+     * bytes, or -1 when the log is not open yet.
+     */
+    public long checkpoint(Supplier<List<Product>> currentState) {
+        if (writeAheadLog == null || !writeAheadLog.isOpen()) {
+            return -1;
+        }
+        // Queued records belong to the state about to be captured, so they go into the segment being retired
+        if (asyncLog != null) {
+            asyncLog.flush();
+        }
+        writeAheadLog.rotate();
+        long bytes = binarySnapshots ? writeBinarySnapshot(currentState.get()) : writeSnapshot(currentState.get());
+        writeAheadLog.discardPreviousSegment();
+        return bytes;
+    }
+
+    public long getPendingLogRecords() {
+        return writeAheadLog == null ? 0 : writeAheadLog.getRecordsSinceRotation();
+    }
+
+    private long writeSnapshot(List<Product> products) {
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+            objectMapper.writeValue(out, products);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write products snapshot", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write products snapshot", e);
+        }
+
+        try {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(binarySnapshotPath);
+            return Files.size(snapshotPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to publish products snapshot", e);
+        }
+    }
+
+    private long writeBinarySnapshot(List<Product> products) {
+        Path tempPath = binarySnapshotPath.resolveSibling(binarySnapshotPath.getFileName() + ".tmp");
+        try {
+            long bytes = BinarySnapshotWriter.writeProducts(tempPath, products);
+            Files.move(tempPath, binarySnapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(snapshotPath);
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write products binary snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    public void closeLog() {
+        if (asyncLog != null) {
+            asyncLog.close();
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
     public void clear() {
         try {
             if (filePath.toFile().exists()) {
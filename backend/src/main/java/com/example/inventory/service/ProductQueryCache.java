@@ -0,0 +1,226 @@
+package com.example.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.example.inventory.dto.PagedResponse;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+/**
+ * Bounded cache of product list pages, keyed on the normalized query parameters.
+ * Each entry remembers the repository version it was computed at: the global
+ * version for unfiltered queries, or the versions of the filtered categories, so a
+ * write only invalidates the listings it can affect. Pages sorted by category name
+ * also track the category version. Stale entries are dropped on lookup.
+ *
+ * Entries are evicted least recently used first, once either the entry count or
+ * the total number of cached products passes its limit.
+ *
+ * Every list request takes the cache lock, so it is a {@link ReentrantLock}
+ * rather than a monitor: a virtual thread blocked on a contended monitor pins its
+ * carrier thread on Java 21, while one parked on a lock releases it.
+ */
+@Component
+public class ProductQueryCache {
+    // Rough heap cost of an entry (key, response, list, map node) and of each cached product reference
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long BYTES_PER_PRODUCT = 8;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxProducts;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<QueryKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedProducts;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ProductQueryCache(@Value("${inventory.query-cache.enabled:true}") boolean enabled,
+            @Value("${inventory.query-cache.max-entries:1000}") int maxEntries,
+            @Value("${inventory.query-cache.max-products:100000}") long maxProducts,
+            ProductRepository productRepository, CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxProducts = maxProducts;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter("inventory.query.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("inventory.query.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("inventory.query.cache.evictions");
+    }
+
+    // Gauges hold a reference to the cache, so they are registered once it is fully constructed
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("inventory.query.cache.entries", this, ProductQueryCache::size)
+                .register(meterRegistry);
+        Gauge.builder("inventory.query.cache.memory", this, ProductQueryCache::estimatedBytes)
+                .description("Estimated heap held by cached pages, not counting the products themselves")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    static ProductQueryCache disabled() {
+        return new ProductQueryCache(false, 0, 0, null, null, new SimpleMeterRegistry());
+    }
+
+    public PagedResponse<Product> get(QueryKey key, Supplier<PagedResponse<Product>> query) {
+        if (!enabled) {
+            return query.get();
+        }
+
+        long[] versions = versions(key);
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && Arrays.equals(entry.versions, versions)) {
+                hits.increment();
+                return entry.response;
+            }
+            if (entry != null) {
+                remove(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        // Versions are read before the query runs, so a write racing with it leaves the entry stale
+        PagedResponse<Product> response = query.get();
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, new Entry(versions, response));
+            if (previous != null) {
+                cachedProducts -= previous.response.getContent().size();
+            }
+            cachedProducts += response.getContent().size();
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        return response;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.lock();
+        try {
+            return entries.size() * ENTRY_OVERHEAD_BYTES + cachedProducts * BYTES_PER_PRODUCT;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            cachedProducts = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<QueryKey, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || cachedProducts > maxProducts) && eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            eldest.remove();
+            cachedProducts -= entry.response.getContent().size();
+            evictions.increment();
+        }
+    }
+
+    private void remove(QueryKey key, Entry entry) {
+        entries.remove(key);
+        cachedProducts -= entry.response.getContent().size();
+    }
+
+    // Sorting by category name also depends on the categories, which are renamed in place
+    private long[] versions(QueryKey key) {
+        boolean byCategoryName = "category".equals(key.primarySortBy()) || "category".equals(key.secondarySortBy());
+        int productVersions = key.categories().isEmpty() ? 1 : key.categories().size();
+        long[] versions = new long[productVersions + (byCategoryName ? 1 : 0)];
+        if (key.categories().isEmpty()) {
+            versions[0] = productRepository.getVersion();
+        } else {
+            int i = 0;
+            for (Long categoryId : key.categories()) {
+                versions[i++] = productRepository.getCategoryVersion(categoryId);
+            }
+        }
+        if (byCategoryName) {
+            versions[productVersions] = categoryRepository.getVersion();
+        }
+        return versions;
+    }
+
+    private record Entry(long[] versions, PagedResponse<Product> response) {
+    }
+
+    /**
+     * List query parameters in canonical form, so requests that differ only in case,
+     * category order or default values share an entry.
+     */
+    public record QueryKey(String name, List<Long> categories, String available, int page, int size,
+            String primarySortBy, boolean primaryAscending, String secondarySortBy, boolean secondaryAscending) {
+
+        public static QueryKey of(String name, List<Long> categories, String available, int page, int size,
+                String primarySortBy, String primarySortDirection, String secondarySortBy,
+                String secondarySortDirection) {
+            List<Long> sortedCategories = categories == null ? List.of()
+                    : Collections.unmodifiableList(new ArrayList<>(categories.stream()
+                            .distinct()
+                            .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .toList()));
+            return new QueryKey(
+                    name == null ? null : name.toLowerCase(),
+                    sortedCategories,
+                    available == null || available.isEmpty() ? null : available.toLowerCase(),
+                    page, size,
+                    blankToNull(primarySortBy), isAscending(primarySortBy, primarySortDirection),
+                    blankToNull(secondarySortBy), isAscending(secondarySortBy, secondarySortDirection));
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isEmpty() ? null : value.toLowerCase();
+        }
+
+        // The direction of an unused sort field makes no difference to the result
+        private static boolean isAscending(String sortBy, String direction) {
+            return blankToNull(sortBy) == null || direction == null || "asc".equalsIgnoreCase(direction);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.inventory.service;
+
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase meters for product list queries, so a slow listing can be pinned on
+ * candidate lookup, filtering, or sorting and paging. Each phase has a timer under
+ * {@code inventory.query.phase}; candidate, match and page sizes are distribution
+ * summaries, and the sort keys requested are counted by position.
+ *
+ * Every meter is registered up front, so recording is a couple of
+ * {@link System#nanoTime()} reads and map lookups on fixed keys, with no
+ * allocation per query.
+ */
+@Component
+public class ProductQueryMetrics {
+    private static final List<String> CANDIDATE_SOURCES = List.of("name", "category", "all", "columns");
+    private static final List<String> SORT_KEYS = List.of("name", "price", "category", "stock", "expirationdate",
+            "none");
+
+    private final Timer candidatesTimer;
+    private final Timer filterTimer;
+    private final Timer sortTimer;
+    private final Map<String, DistributionSummary> candidatesBySource = new HashMap<>();
+    private final DistributionSummary matched;
+    private final DistributionSummary pageSize;
+    private final Map<String, Counter> primaryKeys = new HashMap<>();
+    private final Map<String, Counter> secondaryKeys = new HashMap<>();
+
+    public ProductQueryMetrics(MeterRegistry meterRegistry) {
+        this.candidatesTimer = phaseTimer(meterRegistry, "candidates");
+        this.filterTimer = phaseTimer(meterRegistry, "filter");
+        this.sortTimer = phaseTimer(meterRegistry, "sort");
+        for (String source : CANDIDATE_SOURCES) {
+            candidatesBySource.put(source, DistributionSummary.builder("inventory.query.candidates")
+                    .description("Products a list query started from, by the index that supplied them")
+                    .tag("source", source)
+                    .register(meterRegistry));
+        }
+        this.matched = DistributionSummary.builder("inventory.query.matched")
+                .description("Products left after the list filters")
+                .register(meterRegistry);
+        this.pageSize = DistributionSummary.builder("inventory.query.result.size")
+                .description("Products returned on one page")
+                .register(meterRegistry);
+        for (String key : SORT_KEYS) {
+            primaryKeys.put(key, sortKeyCounter(meterRegistry, key, "primary"));
+            secondaryKeys.put(key, sortKeyCounter(meterRegistry, key, "secondary"));
+        }
+    }
+
+    void recordCandidates(String source, long startNanos, int count) {
+        candidatesTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        candidatesBySource.get(source).record(count);
+    }
+
+    void recordFilter(long startNanos, int matchedCount) {
+        filterTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        matched.record(matchedCount);
+    }
+
+    void recordSort(long startNanos, String primarySortBy, String secondarySortBy, int resultSize) {
+        sortTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        primaryKeys.get(sortKey(primarySortBy)).increment();
+        secondaryKeys.get(sortKey(secondarySortBy)).increment();
+        pageSize.record(resultSize);
+    }
+
+    // Unknown fields sort as no-ops, and are counted as such to keep the tag set bounded
+    private static String sortKey(String field) {
+        String key = field == null ? "none" : field.toLowerCase();
+        return SORT_KEYS.contains(key) ? key : "none";
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("inventory.query.phase")
+                .description("Time spent in one phase of a product list query")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static Counter sortKeyCounter(MeterRegistry meterRegistry, String key, String position) {
+        return Counter.builder("inventory.query.sort.keys")
+                .description("List queries by sort field and position")
+                .tag("key", key)
+                .tag("position", position)
+                .register(meterRegistry);
+    }
+}
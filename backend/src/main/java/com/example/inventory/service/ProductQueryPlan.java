@@ -0,0 +1,211 @@
+package com.example.inventory.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * The list filters of one request, parsed once: the name needle is lowercased, the
+ * category IDs are packed into a bit set (or a hash set when an ID is too large for
+ * one), and the availability string becomes an {@link Availability}. The resulting
+ * conditions are ordered so that the ones most likely to reject a product, per
+ * unit of cost, run first.
+ *
+ * Testing a product allocates nothing: the conditions are fixed objects, the name
+ * is matched in place without lowercasing it, and category IDs are looked up
+ * without boxing. Plans are immutable and shared through {@link Cache}.
+ */
+final class ProductQueryPlan {
+
+    enum Availability {
+        ANY,
+        IN_STOCK,
+        OUT_OF_STOCK,
+        // An unrecognized value, which matches nothing
+        INVALID;
+
+        static Availability parse(String available) {
+            if (available == null || available.isEmpty()) {
+                return ANY;
+            }
+            if ("instock".equalsIgnoreCase(available)) {
+                return IN_STOCK;
+            }
+            if ("outofstock".equalsIgnoreCase(available)) {
+                return OUT_OF_STOCK;
+            }
+            return INVALID;
+        }
+    }
+
+    // Category IDs at or above this are kept in a hash set instead of the bit set
+    private static final int MAX_BITSET_ID = 1 << 20;
+
+    private final String needle;
+    private final List<Long> categoryIds;
+    private final Availability availability;
+    private final List<Condition> conditions;
+
+    private ProductQueryPlan(String needle, List<Long> categoryIds, Availability availability) {
+        this.needle = needle;
+        this.categoryIds = categoryIds;
+        this.availability = availability;
+        this.conditions = compile();
+    }
+
+    static ProductQueryPlan of(String name, Collection<Long> categories, String available) {
+        String needle = name == null || name.isEmpty() ? null : name.toLowerCase();
+        List<Long> categoryIds = null;
+        if (categories != null && !categories.isEmpty()) {
+            categoryIds = categories.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        }
+        return new ProductQueryPlan(needle, categoryIds, Availability.parse(available));
+    }
+
+    // Lowercased name filter, or null
+    String needle() {
+        return needle;
+    }
+
+    // Distinct requested category IDs in ascending order, or null when not filtering by category
+    List<Long> categoryIds() {
+        return categoryIds;
+    }
+
+    Availability availability() {
+        return availability;
+    }
+
+    boolean matchesNothing() {
+        return availability == Availability.INVALID || (categoryIds != null && categoryIds.isEmpty());
+    }
+
+    boolean test(Product product) {
+        List<Condition> ordered = conditions;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!ordered.get(i).test(product)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimated pass rates are rough priors. A condition whose index supplied the
+     * candidates is expected to pass almost always, so it moves to the back.
+     */
+    private List<Condition> compile() {
+        List<Condition> compiled = new ArrayList<>(4);
+        compiled.add(new Condition(Product::isActive, 1, 0.95));
+        switch (availability) {
+            case IN_STOCK -> compiled.add(new Condition(p -> p.getStock() > 0, 1, 0.9));
+            case OUT_OF_STOCK -> compiled.add(new Condition(p -> p.getStock() == 0, 1, 0.1));
+            case ANY, INVALID -> {
+            }
+        }
+        if (categoryIds != null) {
+            boolean indexed = needle == null;
+            compiled.add(new Condition(categoryFilter(categoryIds), 2, indexed ? 0.99 : 0.2));
+        }
+        if (needle != null) {
+            String lowered = needle;
+            compiled.add(new Condition(p -> containsIgnoreCase(p.getName(), lowered), 4 + needle.length(), 0.99));
+        }
+        compiled.sort(Comparator.comparingDouble(Condition::rank));
+        return List.copyOf(compiled);
+    }
+
+    private static Predicate<Product> categoryFilter(List<Long> ids) {
+        long max = ids.isEmpty() ? 0 : ids.get(ids.size() - 1);
+        if (ids.isEmpty() || ids.get(0) < 0 || max >= MAX_BITSET_ID) {
+            Set<Long> set = new HashSet<>(ids);
+            return p -> {
+                Category category = p.getCategory();
+                return category != null && category.getId() != null && set.contains(category.getId());
+            };
+        }
+        BitSet bits = new BitSet((int) max + 1);
+        for (long id : ids) {
+            bits.set((int) id);
+        }
+        return p -> {
+            Category category = p.getCategory();
+            if (category == null || category.getId() == null) {
+                return false;
+            }
+            long id = category.getId();
+            return id >= 0 && id < MAX_BITSET_ID && bits.get((int) id);
+        };
+    }
+
+    // Same as value.toLowerCase().contains(needle) for a lowercased needle, without copying the value
+    static boolean containsIgnoreCase(String value, String needle) {
+        if (value == null) {
+            return false;
+        }
+        int last = value.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (value.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Cost over the share of products it rejects: lower runs first
+    private record Condition(Predicate<Product> predicate, double cost, double passRate) {
+        boolean test(Product product) {
+            return predicate.test(product);
+        }
+
+        double rank() {
+            return cost / Math.max(1e-6, 1 - passRate);
+        }
+    }
+
+    /**
+     * Plans by parameter signature. The cache is bounded by clearing it when full,
+     * which keeps lookups lock-free; typical traffic repeats a small set of filters.
+     */
+    static final class Cache {
+        private final int maxPlans;
+        private final Map<Signature, ProductQueryPlan> plans = new ConcurrentHashMap<>();
+
+        Cache(int maxPlans) {
+            this.maxPlans = maxPlans;
+        }
+
+        ProductQueryPlan plan(String name, Collection<Long> categories, String available) {
+            Signature signature = new Signature(name == null || name.isEmpty() ? null : name.toLowerCase(),
+                    categories == null || categories.isEmpty() ? null : new HashSet<>(categories),
+                    available == null ? null : available.toLowerCase());
+            ProductQueryPlan plan = plans.get(signature);
+            if (plan == null) {
+                if (plans.size() >= maxPlans) {
+                    plans.clear();
+                }
+                plan = ProductQueryPlan.of(name, categories, available);
+                plans.putIfAbsent(signature, plan);
+            }
+            return plan;
+        }
+
+        int size() {
+            return plans.size();
+        }
+    }
+
+    private record Signature(String name, Set<Long> categories, String available) {
+    }
+}
@@ -1,19 +1,32 @@
 package com.example.inventory.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.example.inventory.model.Product;
+import com.example.inventory.repository.ProductColumns;
 import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.dto.BatchItemResult;
 import com.example.inventory.dto.InventoryMetricsDTO;
 import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.dto.StockAdjustmentDTO;
 import com.example.inventory.model.Category;
 import com.example.inventory.dto.PagedResponse;
 
@@ -21,12 +34,28 @@ import com.example.inventory.dto.PagedResponse;
 public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
+    private final ProductQueryCache queryCache;
+    private final ProductQueryMetrics queryMetrics;
+    private final Validator validator;
+    private final ProductQueryPlan.Cache queryPlans = new ProductQueryPlan.Cache(MAX_QUERY_PLANS);
 
     private static final int DEFAULT_RESTOCK = 10;
+    private static final int MAX_QUERY_PLANS = 1024;
 
     public ProductService(ProductRepository productRepository, CategoryService categoryService) {
+        this(productRepository, categoryService, ProductQueryCache.disabled(),
+                new ProductQueryMetrics(new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Autowired
+    public ProductService(ProductRepository productRepository, CategoryService categoryService,
+            ProductQueryCache queryCache, ProductQueryMetrics queryMetrics, Validator validator) {
         this.productRepository = productRepository;
         this.categoryService = categoryService;
+        this.queryCache = queryCache;
+        this.queryMetrics = queryMetrics;
+        this.validator = validator;
     }
 
     public Product saveFromDTO(ProductDTO productDTO) {
@@ -43,6 +72,108 @@ public class ProductService {
         return savedProduct;
     }
 
+    /**
+     * Creates a batch of products. Items are validated one by one and failures are
+     * reported per item; each distinct category is looked up once, and the valid
+     * items are saved in a single repository write with one log flush.
+     */
+    public List<BatchItemResult> saveBatch(List<ProductDTO> productDTOs) {
+        BatchItemResult[] results = new BatchItemResult[productDTOs.size()];
+        Map<Long, Optional<Category>> categories = resolveCategories(productDTOs);
+        List<Product> products = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < productDTOs.size(); i++) {
+            ProductDTO productDTO = productDTOs.get(i);
+            String error = validate(productDTO, categories);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, error);
+                continue;
+            }
+            products.add(new Product(
+                    productDTO.getName(),
+                    categories.get(productDTO.getCategoryId()).get(),
+                    productDTO.getPrice(),
+                    productDTO.getStock(),
+                    productDTO.getExpirationDate()));
+            positions.add(i);
+        }
+
+        productRepository.saveAll(products);
+        for (int j = 0; j < products.size(); j++) {
+            results[positions.get(j)] = BatchItemResult.ok(positions.get(j), products.get(j).getId());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Updates a batch of existing products, identified by the ID in each item, with
+     * the same per-item reporting and single write as {@link #saveBatch}.
+     */
+    public List<BatchItemResult> updateBatch(List<ProductDTO> productDTOs) {
+        BatchItemResult[] results = new BatchItemResult[productDTOs.size()];
+        Map<Long, Optional<Category>> categories = resolveCategories(productDTOs);
+        List<Product> products = new ArrayList<>();
+
+        for (int i = 0; i < productDTOs.size(); i++) {
+            ProductDTO productDTO = productDTOs.get(i);
+            Long id = productDTO == null ? null : productDTO.getId();
+            String error = validate(productDTO, categories);
+            Optional<Product> existing = id == null ? Optional.empty() : productRepository.findById(id);
+            if (error == null && id == null) {
+                error = "Product ID is required";
+            } else if (error == null && existing.isEmpty()) {
+                error = "Product not found with ID: " + id;
+            }
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, id, error);
+                continue;
+            }
+
+            Product existingProduct = existing.get();
+            existingProduct.setName(productDTO.getName());
+            existingProduct.setCategory(categories.get(productDTO.getCategoryId()).get());
+            existingProduct.setPrice(productDTO.getPrice());
+            existingProduct.setStock(productDTO.getStock());
+            existingProduct.setExpirationDate(productDTO.getExpirationDate());
+            existingProduct.setUpdateDate(LocalDate.now());
+            products.add(existingProduct);
+            results[i] = BatchItemResult.ok(i, id);
+        }
+
+        productRepository.updateAll(products);
+        return Arrays.asList(results);
+    }
+
+    private Map<Long, Optional<Category>> resolveCategories(List<ProductDTO> productDTOs) {
+        Map<Long, Optional<Category>> categories = new HashMap<>();
+        for (ProductDTO productDTO : productDTOs) {
+            Long categoryId = productDTO == null ? null : productDTO.getCategoryId();
+            if (categoryId != null && !categories.containsKey(categoryId)) {
+                categories.put(categoryId, categoryService.getCategoryById(categoryId));
+            }
+        }
+        return categories;
+    }
+
+    // Returns the first problem with a batch item, or null when it can be written
+    private String validate(ProductDTO productDTO, Map<Long, Optional<Category>> categories) {
+        if (productDTO == null) {
+            return "Item is empty";
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(productDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (categories.getOrDefault(productDTO.getCategoryId(), Optional.empty()).isEmpty()) {
+            return "Invalid category ID";
+        }
+        return null;
+    }
+
     public Product saveProduct(Product product) {
         return productRepository.save(product);
     }
@@ -56,72 +187,112 @@ public class ProductService {
             String name, List<Long> categories, String available,
             int page, int size, String primarySortBy, String primarySortDirection,
             String secondarySortBy, String secondarySortDirection) {
+        ProductQueryCache.QueryKey key = ProductQueryCache.QueryKey.of(name, categories, available, page, size,
+                primarySortBy, primarySortDirection, secondarySortBy, secondarySortDirection);
+        return queryCache.get(key, () -> queryProducts(name, categories, available, page, size,
+                primarySortBy, primarySortDirection, secondarySortBy, secondarySortDirection));
+    }
 
-        // Filtering
-        List<Product> filteredProductsList = productRepository.getAll().stream()
-                .filter(Product::isActive)
-                .filter(p -> (name == null || p.getName().toLowerCase().contains(name.toLowerCase())) &&
-                        (categories == null || categories.isEmpty() ||
-                                (p.getCategory() != null && categories.contains(p.getCategory().getId())))
-                        &&
-                        (available == null || available.isEmpty() ||
-                                ("instock".equalsIgnoreCase(available) && p.getStock() > 0) ||
-                                ("outofstock".equalsIgnoreCase(available) && p.getStock() == 0)))
-                .collect(Collectors.toList());
+    private PagedResponse<Product> queryProducts(
+            String name, List<Long> categories, String available,
+            int page, int size, String primarySortBy, String primarySortDirection,
+            String secondarySortBy, String secondarySortDirection) {
+        List<Product> filteredProductsList = filterProducts(name, categories, available);
 
-        // Sorting
-        Comparator<Product> finalComparator = createComparator(primarySortBy, primarySortDirection);
-        if (secondarySortBy != null && !secondarySortBy.isEmpty()) {
-            finalComparator = finalComparator.thenComparing(createComparator(secondarySortBy, secondarySortDirection));
-        }
+        long totalElements = filteredProductsList.size();
 
-        List<Product> sortedProducts = filteredProductsList.stream()
-                .sorted(finalComparator)
-                .collect(Collectors.toList());
+        // Paging
+        long sortStart = System.nanoTime();
+        List<Product> paged = sortKeys(primarySortBy, primarySortDirection, secondarySortBy, secondarySortDirection,
+                false).page(filteredProductsList, page, size);
+        queryMetrics.recordSort(sortStart, primarySortBy, secondarySortBy, paged.size());
 
-        long totalElements = sortedProducts.size();
+        return new PagedResponse<>(paged, totalElements);
+    }
 
-        List<Product> paged = sortedProducts.stream()
-                .skip((long) page * size)
-                .limit(size)
-                .collect(Collectors.toList());
+    /**
+     * Keyset paging: returns the {@code size} products that follow the cursor in the
+     * requested order, ties broken by ID, plus a cursor for the next page (null on
+     * the last page). An empty cursor starts at the beginning. There is no sorted
+     * index: each page filters the catalog again and compares every match with the
+     * cursor anchor, so a page costs O(matches) however deep it is. What the cursor
+     * buys is stable positions: rows inserted or removed meanwhile do not shift
+     * later pages the way they shift offsets.
+     */
+    public PagedResponse<Product> getProductsAfterCursor(
+            String name, List<Long> categories, String available,
+            String cursor, int size, String primarySortBy, String primarySortDirection,
+            String secondarySortBy, String secondarySortDirection) {
+        ProductSortKeys sortKeys = sortKeys(primarySortBy, primarySortDirection, secondarySortBy,
+                secondarySortDirection, true);
+        String sortOrder = sortKeys.signature();
+        Comparator<Product> order = sortKeys.comparator();
+
+        List<Product> filteredProductsList = filterProducts(name, categories, available);
+        long sortStart = System.nanoTime();
+        List<Product> remaining = filteredProductsList;
+        if (cursor != null && !cursor.isEmpty()) {
+            ProductCursor position = ProductCursor.decode(cursor);
+            if (!position.sortOrder().equals(sortOrder)) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            Product anchor = position.anchor();
+            remaining = filteredProductsList.stream()
+                    .filter(p -> order.compare(p, anchor) > 0)
+                    .collect(Collectors.toList());
+        }
 
-        return new PagedResponse<>(paged, totalElements);
+        List<Product> paged = sortKeys.page(remaining, 0, size);
+        queryMetrics.recordSort(sortStart, primarySortBy, secondarySortBy, paged.size());
+        String nextCursor = remaining.size() > paged.size() && !paged.isEmpty()
+                ? ProductCursor.encode(sortOrder, paged.get(paged.size() - 1))
+                : null;
+
+        return new PagedResponse<>(paged, filteredProductsList.size(), nextCursor);
     }
 
-    private Comparator<Product> createComparator(String sortByField, String direction) {
-        if (sortByField == null || sortByField.isEmpty()) {
-            return (p1, p2) -> 0;
+    private List<Product> filterProducts(String name, List<Long> categories, String available) {
+        ProductQueryPlan plan = queryPlans.plan(name, categories, available);
+        ProductColumns columns = productRepository.columns();
+        long start = System.nanoTime();
+        if (plan.matchesNothing()) {
+            queryMetrics.recordCandidates("all", start, 0);
+            queryMetrics.recordFilter(start, 0);
+            return new ArrayList<>();
+        }
+        if (plan.needle() == null && plan.categoryIds() == null && columns != null) {
+            queryMetrics.recordCandidates("columns", start, columns.size());
+            long filterStart = System.nanoTime();
+            List<Product> matches = columns.filter(available);
+            queryMetrics.recordFilter(filterStart, matches.size());
+            return matches;
         }
 
-        boolean ascending = (direction == null || "asc".equalsIgnoreCase(direction));
-        Comparator<Product> fieldComparator;
-
-        switch (sortByField.toLowerCase()) {
-            case "name":
-                fieldComparator = Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER);
-                break;
-            case "price":
-                fieldComparator = Comparator.comparingDouble(Product::getPrice);
-                break;
-            case "category":
-                fieldComparator = Comparator.comparing(
-                        p -> (p.getCategory() != null && p.getCategory().getName() != null) ? p.getCategory().getName()
-                                : "",
-                        String.CASE_INSENSITIVE_ORDER);
-                break;
-            case "stock":
-                fieldComparator = Comparator.comparingDouble(Product::getStock);
-                break;
-            case "expirationdate":
-                fieldComparator = Comparator.comparing(Product::getExpirationDate,
-                        Comparator.nullsLast(LocalDate::compareTo));
-                break;
-            default:
-                return (p1, p2) -> 0;
+        // Name and category filters start from the matching index entries instead of the whole catalog
+        List<Product> candidates = plan.needle() != null ? productRepository.findByNameContaining(plan.needle())
+                : plan.categoryIds() != null ? productRepository.findByCategoryIds(plan.categoryIds())
+                : productRepository.getAll();
+        queryMetrics.recordCandidates(plan.needle() != null ? "name" : plan.categoryIds() != null ? "category" : "all",
+                start, candidates.size());
+        long filterStart = System.nanoTime();
+        List<Product> matches = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Product product = candidates.get(i);
+            if (plan.test(product)) {
+                matches.add(product);
+            }
         }
+        queryMetrics.recordFilter(filterStart, matches.size());
+        return matches;
+    }
 
-        return ascending ? fieldComparator : fieldComparator.reversed();
+    // Primary then secondary sort; the cursor path adds the ID so that every product has a distinct position
+    private static ProductSortKeys sortKeys(String primarySortBy, String primarySortDirection,
+            String secondarySortBy, String secondarySortDirection, boolean byId) {
+        return ProductSortKeys.of(Arrays.asList(
+                ProductSortKeys.Key.parse(primarySortBy, primarySortDirection),
+                ProductSortKeys.Key.parse(secondarySortBy, secondarySortDirection),
+                byId ? new ProductSortKeys.Key(ProductSortKeys.Field.ID, true) : null));
     }
 
     public Optional<Product> getProductById(Long id) {
@@ -134,7 +305,7 @@ public class ProductService {
     }
 
     public List<Product> getProductsByCategory(Long categoryId) {
-        List<Product> products = productRepository.getAll();
+        List<Product> products = productRepository.findByCategoryIds(Collections.singletonList(categoryId));
         return products.stream()
                 .filter(Product::isActive)
                 .filter(p -> p.getCategory() != null && p.getCategory().getId().equals(categoryId))
@@ -198,61 +369,25 @@ public class ProductService {
         return updatedProduct;
     }
 
+    /**
+     * Applies a signed stock change atomically. Without an explicit floor the stock
+     * may not go below zero; without a ceiling it is unbounded above. Throws an
+     * IllegalStateException when the result would leave those bounds.
+     */
+    public Product adjustStock(Long id, StockAdjustmentDTO adjustment) {
+        double floor = adjustment.getFloor() == null ? 0 : adjustment.getFloor();
+        double ceiling = adjustment.getCeiling() == null ? Double.POSITIVE_INFINITY : adjustment.getCeiling();
+        return productRepository.adjustStock(id, adjustment.getDelta(), floor, ceiling);
+    }
+
     public void clearProducts() {
         productRepository.clear();
     }
 
     public List<InventoryMetricsDTO> getInventoryMetrics() {
-        List<Product> allProducts = getAllProducts().stream()
-                .filter(p -> p.getStock() > 0)
+        return productRepository.getInStockTotals().stream()
+                .map(t -> new InventoryMetricsDTO(t.getCategoryId(), t.getCategoryName(), t.getTotalStock(),
+                        t.getTotalValue(), t.getAveragePrice()))
                 .collect(Collectors.toList());
-
-        Map<Long, List<Product>> groupedByCategoryId = allProducts.stream()
-                .filter(p -> p.getCategory() != null && p.getCategory().getId() != null)
-                .collect(Collectors.groupingBy(p -> p.getCategory().getId()));
-
-        List<InventoryMetricsDTO> metrics = new ArrayList<>();
-
-        for (Map.Entry<Long, List<Product>> entry : groupedByCategoryId.entrySet()) {
-            Long categoryId = entry.getKey();
-            List<Product> productsInCategory = entry.getValue();
-            String categoryName = productsInCategory.get(0).getCategory().getName();
-            double totalStock = productsInCategory.stream()
-                    .mapToDouble(Product::getStock)
-                    .sum();
-
-            double totalValue = productsInCategory.stream()
-                    .mapToDouble(p -> p.getPrice() * p.getStock())
-                    .sum();
-
-            double averagePrice = productsInCategory.stream()
-                    .mapToDouble(Product::getPrice)
-                    .average()
-                    .orElse(0.0);
-
-            InventoryMetricsDTO metric = new InventoryMetricsDTO(categoryId, categoryName, totalStock, totalValue,
-                    averagePrice);
-            metrics.add(metric);
-        }
-
-        // Overall metrics
-        double overallTotalStock = allProducts.stream()
-                .mapToDouble(Product::getStock)
-                .sum();
-        double overallTotalValue = allProducts.stream()
-                .mapToDouble(p -> p.getPrice() * p.getStock())
-                .sum();
-        double overallAveragePrice = allProducts.stream()
-                .mapToDouble(Product::getPrice)
-                .average()
-                .orElse(0.0);
-
-        InventoryMetricsDTO overallMetrics = new InventoryMetricsDTO(0L, "Overall", overallTotalStock,
-                overallTotalValue,
-                overallAveragePrice);
-
-        metrics.add(overallMetrics);
-
-        return metrics;
     }
 }
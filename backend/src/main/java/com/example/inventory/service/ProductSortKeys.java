@@ -0,0 +1,424 @@
+package com.example.inventory.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Sorts products on any number of keys. For a full sort every key is extracted
+ * once per product, in input order, into primitive columns: numbers and dates
+ * become longs that order the same way as the original values, and names become
+ * a 16-byte collation key, the case-folded prefix encoded so that unsigned
+ * comparison agrees with {@link String#CASE_INSENSITIVE_ORDER}. Only products
+ * whose collation keys tie are compared as strings.
+ *
+ * The positions are then radix sorted one key at a time, last key first, so the
+ * sort reads {@code long[]} columns instead of chasing product and string
+ * references. Only runs whose collation keys tie are compared further, on the
+ * strings.
+ *
+ * Shallow pages compare each product about once against a small heap, where
+ * extracting every key would not pay off, so they go through {@link PageSelector}
+ * with the equivalent {@link #comparator()}. Either way ties are broken by the
+ * position in the input, which is what a stable sort followed by skip/limit
+ * returns.
+ */
+final class ProductSortKeys {
+
+    enum Field {
+        NAME,
+        PRICE,
+        CATEGORY,
+        STOCK,
+        EXPIRATION_DATE,
+        ID;
+
+        static Field parse(String field) {
+            if (field == null) {
+                return null;
+            }
+            return switch (field.toLowerCase()) {
+                case "name" -> NAME;
+                case "price" -> PRICE;
+                case "category" -> CATEGORY;
+                case "stock" -> STOCK;
+                case "expirationdate" -> EXPIRATION_DATE;
+                default -> null;
+            };
+        }
+
+        boolean textual() {
+            return this == NAME || this == CATEGORY;
+        }
+    }
+
+    record Key(Field field, boolean ascending) {
+        /**
+         * Parses a request's sort field and direction. Returns null for a missing or
+         * unknown field, which sorts as a no-op.
+         */
+        static Key parse(String field, String direction) {
+            Field parsed = Field.parse(field);
+            return parsed == null ? null : new Key(parsed, direction == null || "asc".equalsIgnoreCase(direction));
+        }
+    }
+
+    // Escapes a folded character that does not fit in one byte of a collation key
+    private static final int WIDE = 0xFF;
+
+    private final List<Key> keys;
+    private final Comparator<Product> comparator;
+
+    private ProductSortKeys(List<Key> keys) {
+        this.keys = keys;
+        Comparator<Product> combined = (p1, p2) -> 0;
+        for (Key key : keys) {
+            combined = combined.thenComparing(comparator(key));
+        }
+        this.comparator = combined;
+    }
+
+    // Null entries, from unknown or missing fields, are skipped
+    static ProductSortKeys of(List<Key> keys) {
+        List<Key> effective = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            if (key != null) {
+                effective.add(key);
+            }
+        }
+        return new ProductSortKeys(List.copyOf(effective));
+    }
+
+    List<Key> keys() {
+        return keys;
+    }
+
+    // Canonical form of the effective order, the same for requests that differ only in case or unknown fields
+    String signature() {
+        StringBuilder signature = new StringBuilder();
+        for (Key key : keys) {
+            if (!signature.isEmpty()) {
+                signature.append(',');
+            }
+            signature.append(key.field()).append(key.ascending() ? ":asc" : ":desc");
+        }
+        return signature.toString();
+    }
+
+    // The same order as a comparator, for callers that compare individual products
+    Comparator<Product> comparator() {
+        return comparator;
+    }
+
+    List<Product> page(List<Product> products, int page, int size) {
+        if (page < 0 || size < 0) {
+            throw new IllegalArgumentException("Page and size must not be negative");
+        }
+        long offset = (long) page * size;
+        int n = products.size();
+        if (offset >= n || size == 0) {
+            return new ArrayList<>();
+        }
+        int limit = (int) Math.min(n, offset + size);
+        if (keys.isEmpty()) {
+            return new ArrayList<>(products.subList((int) offset, limit));
+        }
+        if ((long) limit * PageSelector.HEAP_MAX_FRACTION <= n) {
+            return PageSelector.page(products, comparator, page, size);
+        }
+
+        int[] order = sort(products);
+        List<Product> result = new ArrayList<>(limit - (int) offset);
+        for (int i = (int) offset; i < limit; i++) {
+            result.add(products.get(order[i]));
+        }
+        return result;
+    }
+
+    // Positions of all products in sorted order
+    int[] sort(List<Product> products) {
+        int n = products.size();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (keys.isEmpty() || n == 0) {
+            return order;
+        }
+        Column[] columns = new Column[keys.size()];
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = new Column(products, keys.get(k));
+        }
+
+        // Least significant key and half first: each stable pass keeps the order of the ones before it
+        int firstTextual = -1;
+        for (int k = columns.length - 1; k >= 0; k--) {
+            Column column = columns[k];
+            if (column.textual()) {
+                radixSort(column.radixKeys(column.low, order), order);
+                firstTextual = k;
+            }
+            radixSort(column.radixKeys(column.high, order), order);
+        }
+        if (firstTextual < 0) {
+            return order;
+        }
+
+        /*
+         * Strings whose collation keys tie may still differ past their first 16 bytes,
+         * and then the keys after them were applied too early. Such products are
+         * contiguous, tying on every key up to the first textual one; sorting each
+         * run with the full comparison puts them right.
+         */
+        int[] scratch = new int[n];
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || !sameKeys(columns, firstTextual, order[i], order[start])) {
+                if (i - start > 1) {
+                    mergeSort(order, scratch, start, i, columns);
+                }
+                start = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * One key extracted for every product. Numeric keys fill {@code high} only;
+     * textual keys fill {@code high} and {@code low} with the collation key and
+     * keep the original strings for ties.
+     */
+    private static final class Column {
+        private final boolean ascending;
+        private final long[] high;
+        private final long[] low;
+        private final String[] texts;
+
+        Column(List<Product> products, Key key) {
+            int n = products.size();
+            this.ascending = key.ascending();
+            this.high = new long[n];
+            if (key.field().textual()) {
+                this.low = new long[n];
+                this.texts = new String[n];
+                long[] collationKey = new long[2];
+                for (int i = 0; i < n; i++) {
+                    String text = text(key.field(), products.get(i));
+                    collationKey(text, collationKey);
+                    high[i] = collationKey[0];
+                    low[i] = collationKey[1];
+                    texts[i] = text;
+                }
+            } else {
+                this.low = null;
+                this.texts = null;
+                for (int i = 0; i < n; i++) {
+                    high[i] = number(key.field(), products.get(i)) ^ Long.MIN_VALUE;
+                }
+            }
+        }
+
+        boolean textual() {
+            return texts != null;
+        }
+
+        /**
+         * One half of the key in the current order of positions, inverted for a
+         * descending sort so that ascending radix order applies.
+         */
+        long[] radixKeys(long[] half, int[] order) {
+            long[] keys = new long[order.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ascending ? half[order[i]] : ~half[order[i]];
+            }
+            return keys;
+        }
+
+        // Whether the extracted keys tie, leaving only the string comparison
+        boolean sameKey(int a, int b) {
+            return high[a] == high[b] && (low == null || low[a] == low[b]);
+        }
+
+        int compare(int a, int b) {
+            int result = Long.compareUnsigned(high[a], high[b]);
+            if (result == 0 && texts != null) {
+                result = Long.compareUnsigned(low[a], low[b]);
+                if (result == 0) {
+                    result = String.CASE_INSENSITIVE_ORDER.compare(texts[a], texts[b]);
+                }
+            }
+            return ascending ? result : -result;
+        }
+    }
+
+    private static String text(Field field, Product product) {
+        if (field == Field.NAME) {
+            return product.getName() != null ? product.getName() : "";
+        }
+        Category category = product.getCategory();
+        return category != null && category.getName() != null ? category.getName() : "";
+    }
+
+    private static long number(Field field, Product product) {
+        return switch (field) {
+            case PRICE -> sortableDouble(product.getPrice());
+            case STOCK -> sortableDouble(product.getStock());
+            case EXPIRATION_DATE -> {
+                // Undated products sort after every date
+                LocalDate date = product.getExpirationDate();
+                yield date != null ? date.toEpochDay() : Long.MAX_VALUE;
+            }
+            case ID -> product.getId();
+            case NAME, CATEGORY -> throw new IllegalArgumentException("Textual field " + field);
+        };
+    }
+
+    // Same order as Double.compare on the original values
+    static long sortableDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Writes the first 16 bytes of a string's collation key into {@code key[0]}
+     * and {@code key[1]}, big-endian and zero padded. Each character is folded the
+     * way {@link String#CASE_INSENSITIVE_ORDER} folds it; one that fits below
+     * {@code 0xFF} takes one byte, and any other takes an {@code 0xFF} escape
+     * followed by its two bytes. The encoding preserves order, so when two keys
+     * differ their unsigned order is the strings' case-insensitive order; when
+     * they tie, the strings must be compared.
+     */
+    static void collationKey(String value, long[] key) {
+        long high = 0;
+        long low = 0;
+        int bytes = 0;
+        for (int i = 0; i < value.length() && bytes < 16; i++) {
+            char c = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+            int encoded = c < WIDE ? c : (WIDE << 16) | c;
+            for (int shift = c < WIDE ? 0 : 16; shift >= 0 && bytes < 16; shift -= 8, bytes++) {
+                long b = (encoded >>> shift) & 0xFF;
+                if (bytes < 8) {
+                    high |= b << (56 - 8 * bytes);
+                } else {
+                    low |= b << (56 - 8 * (bytes - 8));
+                }
+            }
+        }
+        key[0] = high;
+        key[1] = low;
+    }
+
+    /**
+     * Stable LSD radix sort of unsigned keys, one byte per pass, moving the
+     * positions along with them. Passes where every key has the same byte are
+     * skipped, so narrow ranges such as dates take only a few passes. The order
+     * of positions with equal keys is kept, so sorts on successive keys compose.
+     */
+    private static void radixSort(long[] keys, int[] order) {
+        int n = keys.length;
+        int[][] counts = new int[8][256];
+        for (long key : keys) {
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass * 8)) & 0xFF]++;
+            }
+        }
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        long[] fromKeys = keys;
+        int[] fromOrder = order;
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            if (count[(int) (keys[0] >>> (pass * 8)) & 0xFF] == n) {
+                continue;
+            }
+            int[] next = new int[256];
+            for (int b = 1; b < 256; b++) {
+                next[b] = next[b - 1] + count[b - 1];
+            }
+            long[] toKeys = fromKeys == keys ? keyBuffer : keys;
+            int[] toOrder = fromOrder == order ? orderBuffer : order;
+            for (int i = 0; i < n; i++) {
+                int slot = next[(int) (fromKeys[i] >>> (pass * 8)) & 0xFF]++;
+                toKeys[slot] = fromKeys[i];
+                toOrder[slot] = fromOrder[i];
+            }
+            fromKeys = toKeys;
+            fromOrder = toOrder;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, n);
+            System.arraycopy(fromOrder, 0, order, 0, n);
+        }
+    }
+
+    // Stable merge sort of positions, insertion sorting short ranges
+    private static void mergeSort(int[] order, int[] scratch, int from, int to, Column[] columns) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && compare(columns, order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, scratch, from, mid, columns);
+        mergeSort(order, scratch, mid, to, columns);
+        if (compare(columns, order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compare(columns, scratch[left], scratch[right]) <= 0)) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private static boolean sameKeys(Column[] columns, int last, int a, int b) {
+        for (int k = 0; k <= last; k++) {
+            if (!columns[k].sameKey(a, b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compare(Column[] columns, int a, int b) {
+        for (Column column : columns) {
+            int result = column.compare(a, b);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static Comparator<Product> comparator(Key key) {
+        Comparator<Product> fieldComparator = switch (key.field()) {
+            case NAME -> Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER);
+            case PRICE -> Comparator.comparingDouble(Product::getPrice);
+            case CATEGORY -> Comparator.comparing(
+                    p -> (p.getCategory() != null && p.getCategory().getName() != null) ? p.getCategory().getName()
+                            : "",
+                    String.CASE_INSENSITIVE_ORDER);
+            case STOCK -> Comparator.comparingDouble(Product::getStock);
+            case EXPIRATION_DATE -> Comparator.comparing(Product::getExpirationDate,
+                    Comparator.nullsLast(LocalDate::compareTo));
+            case ID -> Comparator.comparing(Product::getId);
+        };
+        return key.ascending() ? fieldComparator : fieldComparator.reversed();
+    }
+}
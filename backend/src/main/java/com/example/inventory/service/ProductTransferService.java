@@ -0,0 +1,274 @@
+package com.example.inventory.service;
+
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import com.example.inventory.dto.BatchItemResult;
+import com.example.inventory.dto.ImportLineError;
+import com.example.inventory.dto.ImportResult;
+import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.ProductRepository;
+
+/**
+ * Moves the whole catalog in and out as newline-delimited JSON (or CSV on the way
+ * in), one product per line, without holding more than a bounded amount of it in
+ * memory.
+ */
+@Service
+public class ProductTransferService {
+    private static final int FLUSH_EVERY = 1_000;
+    static final int IMPORT_BATCH_SIZE = 1_000;
+    // Batches parsed ahead of the writer; parsing waits once this many are queued
+    static final int IMPORT_BATCHES_IN_FLIGHT = 2;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter productWriter;
+    private final ObjectReader productDTOReader;
+    private final Counter importedRecords;
+    private final Counter failedRecords;
+    private final ExecutorService importWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductTransferService(ProductRepository productRepository, ProductService productService,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        // Flushing is left to exportProducts; per-value flushes would also force a deflate block per product
+        this.productWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Exported product lines carry fields a ProductDTO doesn't have
+        this.productDTOReader = objectMapper.readerFor(ProductDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.importedRecords = meterRegistry.counter("inventory.import.records", "result", "imported");
+        this.failedRecords = meterRegistry.counter("inventory.import.records", "result", "failed");
+    }
+
+    /**
+     * Streams every product straight from the repository iterator onto the output,
+     * optionally gzipped, and returns how many were written. The stream is flushed
+     * every thousand lines so the client sees progress on large catalogs.
+     */
+    public long exportProducts(OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16, true) : out;
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Product> products = productRepository.iterator();
+            while (products.hasNext()) {
+                productWriter.writeValue(generator, products.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates products from NDJSON (one ProductDTO or exported product per line) or
+     * CSV (a header row naming name, price, stock, categoryId and expirationDate).
+     * The input is parsed line by line into batches that go through the batch create
+     * path on a writer thread. Parsing runs ahead by a couple of batches at most, so
+     * a slow persistence layer slows down reading of the request. Imported products
+     * always get new IDs.
+     */
+    public ImportResult importProducts(InputStream in, boolean csv) throws IOException {
+        ImportResult result = new ImportResult();
+        Deque<PendingBatch> inFlight = new ArrayDeque<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, Integer> header = null;
+        List<ProductDTO> batch = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = csvHeader(line);
+                continue;
+            }
+            result.setProcessed(result.getProcessed() + 1);
+            try {
+                batch.add(csv ? fromCsv(header, line) : fromJson(line));
+                lines.add(lineNumber);
+            } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+                fail(result, lineNumber, "Unreadable record: " + e.getMessage());
+                continue;
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                submit(inFlight, batch, lines, result);
+                batch = new ArrayList<>();
+                lines = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            submit(inFlight, batch, lines, result);
+        }
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll(), result);
+        }
+        return result;
+    }
+
+    private void submit(Deque<PendingBatch> inFlight, List<ProductDTO> batch, List<Long> lines,
+            ImportResult result) {
+        // Backpressure: wait for the oldest batch before queueing another
+        if (inFlight.size() >= IMPORT_BATCHES_IN_FLIGHT) {
+            complete(inFlight.poll(), result);
+        }
+        inFlight.add(new PendingBatch(lines, importWriter.submit(() -> productService.saveBatch(batch))));
+    }
+
+    private void complete(PendingBatch pending, ImportResult result) {
+        List<BatchItemResult> results;
+        try {
+            results = pending.results().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import batch failed", e.getCause());
+        }
+        for (BatchItemResult item : results) {
+            if (item.isSuccess()) {
+                result.setImported(result.getImported() + 1);
+                importedRecords.increment();
+            } else {
+                fail(result, pending.lines().get(item.getIndex()), item.getError());
+            }
+        }
+    }
+
+    private void fail(ImportResult result, long line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        failedRecords.increment();
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportLineError(line, error));
+        }
+    }
+
+    private ProductDTO fromJson(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (!(node instanceof ObjectNode object)) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        // Lines from the export nest the category instead of naming its ID
+        if (!object.has("categoryId") && object.path("category").has("id")) {
+            object.set("categoryId", object.get("category").get("id"));
+        }
+        return productDTOReader.readValue(object);
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(), i);
+        }
+        return header;
+    }
+
+    private static ProductDTO fromCsv(Map<String, Integer> header, String line) {
+        List<String> fields = splitCsv(line);
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName(field(header, fields, "name"));
+        String price = field(header, fields, "price");
+        productDTO.setPrice(price == null ? 0 : Double.parseDouble(price));
+        String stock = field(header, fields, "stock");
+        productDTO.setStock(stock == null ? 0 : Double.parseDouble(stock));
+        String categoryId = field(header, fields, "categoryid");
+        productDTO.setCategoryId(categoryId == null ? null : Long.parseLong(categoryId));
+        String expirationDate = field(header, fields, "expirationdate");
+        productDTO.setExpirationDate(expirationDate == null ? null : LocalDate.parse(expirationDate));
+        return productDTO;
+    }
+
+    private static String field(Map<String, Integer> header, List<String> fields, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Splits one CSV line, honouring double-quoted fields and "" escapes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importWriter.shutdown();
+    }
+
+    private record PendingBatch(List<Long> lines, Future<List<BatchItemResult>> results) {
+    }
+}
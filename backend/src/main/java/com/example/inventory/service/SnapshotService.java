@@ -0,0 +1,95 @@
+package com.example.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.example.inventory.config.DataLoadStatus;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+/**
+ * Periodically snapshots the repositories and compacts their write-ahead logs, so
+ * a restart replays the latest snapshot plus a short log tail instead of the full
+ * mutation history.
+ */
+@Service
+public class SnapshotService {
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductFileStorageService productFileStorageService;
+    private final CategoryFileStorageService categoryFileStorageService;
+    private final MeterRegistry meterRegistry;
+    private final DataLoadStatus dataLoadStatus;
+    private final long minLogRecords;
+
+    public SnapshotService(ProductRepository productRepository, CategoryRepository categoryRepository,
+            ProductFileStorageService productFileStorageService,
+            CategoryFileStorageService categoryFileStorageService, MeterRegistry meterRegistry,
+            DataLoadStatus dataLoadStatus,
+            @Value("${inventory.persistence.snapshot-min-log-records:1000}") long minLogRecords) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productFileStorageService = productFileStorageService;
+        this.categoryFileStorageService = categoryFileStorageService;
+        this.meterRegistry = meterRegistry;
+        this.dataLoadStatus = dataLoadStatus;
+        this.minLogRecords = minLogRecords;
+
+        registerPendingGauge("products", productFileStorageService, ProductFileStorageService::getPendingLogRecords);
+        registerPendingGauge("categories", categoryFileStorageService,
+                CategoryFileStorageService::getPendingLogRecords);
+    }
+
+    @Scheduled(initialDelayString = "${inventory.persistence.snapshot-interval-ms:300000}",
+            fixedDelayString = "${inventory.persistence.snapshot-interval-ms:300000}")
+    public void snapshotIfNeeded() {
+        // A snapshot taken mid-load would capture a partial store and discard the log behind it
+        if (!dataLoadStatus.isReady()) {
+            return;
+        }
+        if (productFileStorageService.getPendingLogRecords() >= minLogRecords) {
+            snapshotProducts();
+        }
+        if (categoryFileStorageService.getPendingLogRecords() >= minLogRecords) {
+            snapshotCategories();
+        }
+    }
+
+    public long snapshotProducts() {
+        return record("products", () -> productFileStorageService.checkpoint(productRepository::getAll));
+    }
+
+    public long snapshotCategories() {
+        return record("categories", () -> categoryFileStorageService.checkpoint(categoryRepository::getAll));
+    }
+
+    private long record(String store, Supplier<Long> checkpoint) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long bytes = checkpoint.get();
+        if (bytes < 0) {
+            return bytes;
+        }
+
+        sample.stop(meterRegistry.timer("inventory.snapshot.duration", "store", store));
+        DistributionSummary.builder("inventory.snapshot.bytes")
+                .baseUnit("bytes")
+                .tag("store", store)
+                .register(meterRegistry)
+                .record(bytes);
+        return bytes;
+    }
+
+    private <S> void registerPendingGauge(String store, S storage, ToLongFunction<S> pending) {
+        Gauge.builder("inventory.wal.pending.records", storage, s -> pending.applyAsLong(s))
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+}
@@ -1,13 +1,45 @@
 package com.example.inventory;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.inventory.config.DataLoadStatus;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+@SpringBootTest(properties = "inventory.persistence.directory=target/test-data/${random.uuid}")
 class InventoryBackendApplicationTests {
 
+	@Autowired
+	private DataLoadStatus dataLoadStatus;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void backgroundLoad_finishesAndSharesCategoryInstances() throws Exception {
+		assertTrue(dataLoadStatus.awaitFinished(30, TimeUnit.SECONDS));
+		assertTrue(dataLoadStatus.isReady());
+		assertFalse(productRepository.getAll().isEmpty());
+		for (Product product : productRepository.getAll()) {
+			assertSame(categoryRepository.findById(product.getCategory().getId()).get(), product.getCategory());
+		}
+		assertTrue(dataLoadStatus.getPhaseMillis().containsKey("categoryResolution"));
+	}
+
 }
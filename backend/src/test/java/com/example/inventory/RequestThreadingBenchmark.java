@@ -0,0 +1,182 @@
+package com.example.inventory;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.inventory.config.DataLoadStatus;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.persistence.ChangeLog;
+import com.example.inventory.persistence.LogRecord;
+import com.example.inventory.repository.ProductRepository;
+
+/**
+ * Compares serving requests on Tomcat's platform thread pool against virtual
+ * threads. Each mode boots the application on a random port, swaps in a change log
+ * that sleeps for the simulated persistence latency on every durable write, and
+ * then runs a fixed number of concurrent clients mixing list reads with stock
+ * adjustments. Throughput and p50/p99 latency are printed per mode.
+ *
+ * Not a unit test; run it from the backend directory, optionally passing the client
+ * count, seconds per mode, write latency in milliseconds and the share of writes:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.inventory.RequestThreadingBenchmark -Dexec.args="1000 15 20 0.5"
+ * </pre>
+ */
+public class RequestThreadingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        double writeShare = args.length > 3 ? Double.parseDouble(args[3]) : 0.5;
+
+        System.out.printf("clients: %d, %d s per mode, write latency %d ms, writes %.0f%%%n", clients, seconds,
+                latencyMillis, writeShare * 100);
+        for (boolean virtual : new boolean[] { false, true }) {
+            run(virtual, clients, seconds, latencyMillis, writeShare).print(virtual ? "virtual" : "platform");
+        }
+    }
+
+    private static Result run(boolean virtual, int clients, int seconds, long latencyMillis, double writeShare)
+            throws Exception {
+        try (ConfigurableApplicationContext context = SpringApplication.run(InventoryBackendApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--inventory.persistence.enabled=false")) {
+            DataLoadStatus status = context.getBean(DataLoadStatus.class);
+            while (!status.isReady()) {
+                Thread.sleep(50);
+            }
+            ProductRepository repository = context.getBean(ProductRepository.class);
+            repository.setChangeLog(sleepingLog(latencyMillis));
+            List<Long> ids = productIds(repository);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            // Warm up JIT and connections before measuring
+            drive(http, port, ids, Math.min(clients, 50), 2, writeShare);
+            return drive(http, port, ids, clients, seconds, writeShare);
+        }
+    }
+
+    private static Result drive(HttpClient http, int port, List<Long> ids, int clients, int seconds,
+            double writeShare) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                executor.submit(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < deadline && count < samples.length - 1) {
+                        HttpRequest request = nextRequest(port, ids, writeShare);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        samples[++count] = System.nanoTime() - start;
+                    }
+                    samples[0] = count;
+                    return null;
+                });
+            }
+        }
+
+        long total = latencies.stream().mapToLong(samples -> samples[0]).sum();
+        long[] all = new long[(int) total];
+        int next = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 1, all, next, (int) samples[0]);
+            next += (int) samples[0];
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.get(), seconds, all);
+    }
+
+    private static HttpRequest nextRequest(int port, List<Long> ids, double writeShare) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String base = "http://localhost:" + port + "/api/products";
+        if (random.nextDouble() < writeShare) {
+            long id = ids.get(random.nextInt(ids.size()));
+            return HttpRequest.newBuilder(URI.create(base + "/" + id + "/stock/adjust"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"delta\":1}"))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "?page=" + random.nextInt(5) + "&size=20")).GET().build();
+    }
+
+    private static List<Long> productIds(ProductRepository repository) {
+        if (repository.getAll().isEmpty()) {
+            Category category = new Category(1L, "Benchmark");
+            for (int i = 1; i <= 1000; i++) {
+                repository.save(new Product(null, "Product " + i, category, i % 100, 10));
+            }
+        }
+        return repository.getAll().stream().map(Product::getId).toList();
+    }
+
+    // Stands in for a slow disk: durable writes block the request thread, outside the repository locks
+    private static ChangeLog<Product> sleepingLog(long latencyMillis) {
+        return new ChangeLog<>() {
+            @Override
+            public long append(LogRecord<Product> record) {
+                return 1;
+            }
+
+            @Override
+            public void awaitDurable(long position) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private record Result(long requests, long errors, int seconds, long[] sortedNanos) {
+        void print(String mode) {
+            System.out.printf("%-8s %,9d requests  %,8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  errors %d%n", mode,
+                    requests, (double) requests / seconds, percentile(0.50), percentile(0.99), errors);
+        }
+
+        private double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
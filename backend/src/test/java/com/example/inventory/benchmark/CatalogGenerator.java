@@ -0,0 +1,65 @@
+package com.example.inventory.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+/**
+ * Builds the same catalog for a given size on every run, so benchmark results are
+ * comparable across releases. Names combine an adjective, a noun and a sequence
+ * number; about one product in ten is out of stock and one in five never expires.
+ */
+public final class CatalogGenerator {
+    public static final int CATEGORY_COUNT = 50;
+
+    private static final long SEED = 20_250_101L;
+    private static final String[] ADJECTIVES = { "Fresh", "Organic", "Frozen", "Premium", "Classic", "Spicy",
+            "Sweet", "Smoked", "Dried", "Light" };
+    private static final String[] NOUNS = { "Apple", "Bread", "Cheese", "Coffee", "Juice", "Milk", "Pasta", "Rice",
+            "Salmon", "Tea", "Tomato", "Yogurt" };
+    private static final LocalDate FIRST_EXPIRATION = LocalDate.of(2025, 1, 1);
+
+    private CatalogGenerator() {
+    }
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (long id = 1; id <= CATEGORY_COUNT; id++) {
+            categories.add(new Category(id, "Category " + id));
+        }
+        return categories;
+    }
+
+    public static List<Product> products(int count, List<Category> categories) {
+        Random random = new Random(SEED);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            Category category = categories.get(random.nextInt(categories.size()));
+            double price = 1 + random.nextInt(50_000) / 100.0;
+            double stock = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(500);
+            LocalDate expiration = random.nextInt(5) == 0 ? null : FIRST_EXPIRATION.plusDays(random.nextInt(730));
+            products.add(new Product((long) i, name, category, price, stock, expiration));
+        }
+        return products;
+    }
+
+    /**
+     * Loads a fresh catalog of the given size into the repositories, as the startup
+     * loader would.
+     */
+    public static void load(int count, CategoryRepository categoryRepository, ProductRepository productRepository) {
+        List<Category> categories = categories();
+        categoryRepository.loadCategories(categories);
+        for (Product product : products(count, categories)) {
+            productRepository.loadProduct(product);
+        }
+    }
+}
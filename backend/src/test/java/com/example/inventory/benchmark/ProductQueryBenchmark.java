@@ -0,0 +1,101 @@
+package com.example.inventory.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.example.inventory.dto.InventoryMetricsDTO;
+import com.example.inventory.dto.PagedResponse;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.service.CategoryService;
+import com.example.inventory.service.ProductService;
+
+/**
+ * Read paths of {@link ProductService}: list queries with each filter, sort field
+ * and page depth, and the inventory metrics. The service is built without the
+ * query cache, so every call measures the query itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class ProductQueryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int catalogSize;
+
+    private ProductService productService;
+    private int deepPage;
+
+    @Setup
+    public void setUp() {
+        ProductRepository productRepository = new ProductRepository();
+        CategoryRepository categoryRepository = new CategoryRepository();
+        CatalogGenerator.load(catalogSize, categoryRepository, productRepository);
+        productService = new ProductService(productRepository, new CategoryService(categoryRepository));
+        // Halfway through the catalog, well past where the bounded heap is used
+        deepPage = catalogSize / PAGE_SIZE / 2;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SortField {
+        @Param({ "name", "price", "stock", "category", "expirationDate" })
+        public String field;
+    }
+
+    @Benchmark
+    public PagedResponse<Product> firstPageUnfiltered() {
+        return productService.getFilteredSortedProducts(null, null, null, 0, PAGE_SIZE, null, null, null, null);
+    }
+
+    @Benchmark
+    public PagedResponse<Product> nameFilter() {
+        return productService.getFilteredSortedProducts("apple", null, null, 0, PAGE_SIZE, "name", "asc", null,
+                null);
+    }
+
+    @Benchmark
+    public PagedResponse<Product> categoryFilter() {
+        return productService.getFilteredSortedProducts(null, List.of(1L, 2L, 3L), "instock", 0, PAGE_SIZE, "price",
+                "asc", null, null);
+    }
+
+    @Benchmark
+    public PagedResponse<Product> sortByField(SortField sort) {
+        return productService.getFilteredSortedProducts(null, null, null, 0, PAGE_SIZE, sort.field, "asc", null,
+                null);
+    }
+
+    @Benchmark
+    public PagedResponse<Product> secondarySort() {
+        return productService.getFilteredSortedProducts(null, null, null, 0, PAGE_SIZE, "category", "asc", "price",
+                "desc");
+    }
+
+    @Benchmark
+    public PagedResponse<Product> deepPage() {
+        return productService.getFilteredSortedProducts(null, null, null, deepPage, PAGE_SIZE, "price", "asc",
+                "name", "asc");
+    }
+
+    @Benchmark
+    public List<InventoryMetricsDTO> inventoryMetrics() {
+        return productService.getInventoryMetrics();
+    }
+}
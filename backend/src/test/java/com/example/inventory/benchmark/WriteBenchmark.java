@@ -0,0 +1,81 @@
+package com.example.inventory.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.service.CategoryService;
+import com.example.inventory.service.ProductService;
+
+/**
+ * Create paths: {@link ProductService#saveFromDTO} against catalogs of each size,
+ * and {@link CategoryService#saveCategory}, whose duplicate-name check scans every
+ * category. Both stores are rebuilt before each iteration so the data written by
+ * one iteration does not slow down the next. Persistence is not attached; these
+ * measure the in-memory write path only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class WriteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({ "1000", "100000", "1000000" })
+        public int catalogSize;
+
+        ProductService productService;
+        ProductDTO product;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            ProductRepository productRepository = new ProductRepository();
+            CategoryRepository categoryRepository = new CategoryRepository();
+            CatalogGenerator.load(catalogSize, categoryRepository, productRepository);
+            productService = new ProductService(productRepository, new CategoryService(categoryRepository));
+            product = new ProductDTO("Benchmark Product", 9.99, 25, 7L, LocalDate.of(2026, 6, 30));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Categories {
+        CategoryService categoryService;
+        long sequence;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            CategoryRepository categoryRepository = new CategoryRepository();
+            categoryRepository.loadCategories(CatalogGenerator.categories());
+            categoryService = new CategoryService(categoryRepository);
+        }
+    }
+
+    @Benchmark
+    public Product saveFromDTO(Catalog catalog) {
+        return catalog.productService.saveFromDTO(catalog.product);
+    }
+
+    @Benchmark
+    public Category saveCategory(Categories categories) {
+        return categories.categoryService.saveCategory(new Category("Benchmark " + categories.sequence++));
+    }
+}
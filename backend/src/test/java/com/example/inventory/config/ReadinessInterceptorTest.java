@@ -0,0 +1,63 @@
+package com.example.inventory.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadinessInterceptorTest {
+    private DataLoadStatus status;
+    private ReadinessInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        status = new DataLoadStatus();
+        interceptor = new ReadinessInterceptor(status);
+    }
+
+    @Test
+    void preHandle_whileLoading_returnsServiceUnavailableWithRetryAfter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), response,
+                new Object());
+
+        assertFalse(proceed);
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(Status.OUT_OF_SERVICE, status.health().getStatus());
+    }
+
+    @Test
+    void preHandle_afterLoad_letsRequestsThrough() throws Exception {
+        status.recordPhase("products", 12);
+        status.markReady(2, 3);
+
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"),
+                new MockHttpServletResponse(), new Object());
+
+        assertTrue(proceed);
+        assertEquals(Status.UP, status.health().getStatus());
+        assertEquals(3L, status.health().getDetails().get("products"));
+    }
+
+    @Test
+    void preHandle_corsPreflightWhileLoading_isAllowed() throws Exception {
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("OPTIONS", "/api/products"),
+                new MockHttpServletResponse(), new Object());
+
+        assertTrue(proceed);
+    }
+
+    @Test
+    void health_afterFailure_isDown() {
+        status.markFailed(new IllegalStateException("boom"));
+
+        assertEquals(Status.DOWN, status.health().getStatus());
+    }
+}
@@ -53,6 +53,27 @@ class CategoryControllerTest {
         verify(service).getAllActiveCategories();
     }
 
+    @Test
+    void getCategoryByName_found_returnsCategory() {
+        Category existing = new Category(1L, "Category A");
+
+        when(service.getCategoryByName("category a")).thenReturn(Optional.of(existing));
+
+        ResponseEntity<Category> response = controller.getCategoryByName("category a");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(existing, response.getBody());
+    }
+
+    @Test
+    void getCategoryByName_missing_returnsNotFound() {
+        when(service.getCategoryByName("Category B")).thenReturn(Optional.empty());
+
+        ResponseEntity<Category> response = controller.getCategoryByName("Category B");
+
+        assertEquals(404, response.getStatusCode().value());
+    }
+
     @Test
     void updateCategory_existing_returnsUpdated() {
         Category input = new Category(1L, "Category A");
@@ -21,6 +21,7 @@ import java.util.Optional;
 
 import com.example.inventory.dto.PagedResponse;
 import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.dto.StockAdjustmentDTO;
 import com.example.inventory.model.Category;
 import com.example.inventory.model.Product;
 import com.example.inventory.service.ProductService;
@@ -80,6 +81,35 @@ class ProductControllerTest {
                 null, null, null, 0, 10, null, null, null, null);
     }
 
+    @Test
+    void getProductsAfterCursor_invalidCursor_returnsBadRequest() {
+        when(service.getProductsAfterCursor(any(), any(), any(), any(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        ResponseEntity<PagedResponse<Product>> response = controller.getProductsAfterCursor(
+                null, null, null, "garbage", 10, "price", "asc", null, "asc");
+
+        assertEquals(400, response.getStatusCode().value());
+    }
+
+    @Test
+    void adjustStock_outOfBounds_returnsConflict() {
+        StockAdjustmentDTO adjustment = new StockAdjustmentDTO(-5.0, null, null);
+        when(service.adjustStock(1L, adjustment)).thenThrow(new IllegalStateException("below floor"));
+
+        assertEquals(409, controller.adjustStock(1L, adjustment).getStatusCode().value());
+    }
+
+    @Test
+    void adjustStock_notFound_returns404() {
+        StockAdjustmentDTO adjustment = new StockAdjustmentDTO(1.0, null, null);
+        when(service.adjustStock(2L, adjustment))
+                .thenThrow(new IllegalArgumentException("Product not found with ID: 2"));
+
+        assertEquals(404, controller.adjustStock(2L, adjustment).getStatusCode().value());
+        verify(service, never()).getProductById(any());
+    }
+
     @Test
     void updateProductById_found_returnsUpdated() {
         ProductDTO dto = new ProductDTO("Updated", 20.0, 10.0, 1L, LocalDate.now());
@@ -0,0 +1,119 @@
+package com.example.inventory.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The kinds of call a scenario can mix, each building a randomized request from the
+ * scenario's random source and the IDs seeded on the server.
+ */
+public enum Endpoint {
+    LIST("list") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/api/products?page=" + random.nextInt(5) + "&size=10");
+        }
+    },
+    FILTER("filter") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/api/products?name=" + pick(NAME_QUERIES, random)
+                    + "&categories=" + pick(target.categoryIds(), random) + "," + pick(target.categoryIds(), random)
+                    + "&available=instock&size=10");
+        }
+    },
+    SORT("sort") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/api/products?page=" + random.nextInt(10) + "&size=10"
+                    + "&primarySortBy=" + pick(SORT_FIELDS, random)
+                    + "&primarySortDirection=" + (random.nextBoolean() ? "asc" : "desc")
+                    + "&secondarySortBy=name");
+        }
+    },
+    METRICS("metrics") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/api/products/metrics");
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return HttpRequest.newBuilder(target.uri("/api/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(productJson(target, random, "Load Created")))
+                    .build();
+        }
+    },
+    UPDATE("update") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return HttpRequest.newBuilder(target.uri("/api/products/" + pick(target.productIds(), random)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(productJson(target, random, "Load Updated")))
+                    .build();
+        }
+    },
+    STOCK_FLIP("stockFlip") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            String action = random.nextBoolean() ? "/outofstock" : "/instock";
+            return HttpRequest.newBuilder(target.uri("/api/products/" + pick(target.productIds(), random) + action))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    };
+
+    private static final List<String> NAME_QUERIES = List.of("apple", "tea", "milk", "fresh", "ice", "sa");
+    private static final List<String> SORT_FIELDS = List.of("name", "price", "stock", "category", "expirationDate");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(Target target, Random random);
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in scenario mix: " + key);
+    }
+
+    /**
+     * The server under test and the category and product IDs it was seeded with.
+     */
+    record Target(String baseUrl, List<Long> categoryIds, List<Long> productIds) {
+        URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+    }
+
+    private static HttpRequest get(Target target, String path) {
+        return HttpRequest.newBuilder(target.uri(path)).GET().build();
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String productJson(Target target, Random random, String prefix) {
+        return "{\"name\":\"" + prefix + " " + random.nextInt(1_000_000) + "\""
+                + ",\"price\":" + (1 + random.nextInt(50_000) / 100.0)
+                + ",\"stock\":" + random.nextInt(500)
+                + ",\"categoryId\":" + pick(target.categoryIds(), random)
+                + ",\"expirationDate\":\"" + LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)) + "\"}";
+    }
+}
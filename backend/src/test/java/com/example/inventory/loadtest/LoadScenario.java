@@ -0,0 +1,66 @@
+package com.example.inventory.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A reproducible traffic description, read from a JSON file: the catalog to seed,
+ * the arrival rate and process, how long to warm up and measure, and the relative
+ * weight of each {@link Endpoint} in the mix. The seed fixes the sequence of
+ * requests, so two runs of one scenario send the same traffic.
+ */
+public record LoadScenario(
+        String name,
+        String description,
+        int catalogSize,
+        double ratePerSecond,
+        String arrival,
+        int warmupSeconds,
+        int durationSeconds,
+        long seed,
+        Map<String, Integer> mix) {
+
+    public LoadScenario {
+        if (ratePerSecond <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || catalogSize < 0) {
+            throw new IllegalArgumentException("Scenario " + name + " needs a positive rate and duration");
+        }
+        if (arrival == null) {
+            arrival = "constant";
+        }
+        if (!arrival.equals("constant") && !arrival.equals("poisson")) {
+            throw new IllegalArgumentException("Unknown arrival process: " + arrival);
+        }
+        if (mix == null || mix.isEmpty() || mix.values().stream().allMatch(weight -> weight <= 0)) {
+            throw new IllegalArgumentException("Scenario " + name + " needs at least one weighted endpoint");
+        }
+        mix.keySet().forEach(Endpoint::fromKey);
+    }
+
+    /**
+     * Reads a scenario from a file path, or from {@code loadtest/<name>.json} on the
+     * test classpath when no such file exists.
+     */
+    public static LoadScenario load(String location, ObjectMapper objectMapper) {
+        try {
+            Path path = Path.of(location);
+            if (Files.exists(path)) {
+                return objectMapper.readValue(path.toFile(), LoadScenario.class);
+            }
+            String resource = "loadtest/" + (location.endsWith(".json") ? location : location + ".json");
+            try (InputStream in = LoadScenario.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("No scenario file or resource named " + location);
+                }
+                return objectMapper.readValue(in, LoadScenario.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read scenario " + location, e);
+        }
+    }
+}
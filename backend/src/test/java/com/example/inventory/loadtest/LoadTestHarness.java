@@ -0,0 +1,331 @@
+package com.example.inventory.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.inventory.benchmark.CatalogGenerator;
+import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.dto.ProductDTO;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays a {@link LoadScenario} against a running backend and reports throughput
+ * and latency percentiles per endpoint.
+ *
+ * Traffic follows an open model: requests are scheduled at the scenario's arrival
+ * rate whether or not earlier ones have finished, each on its own virtual thread.
+ * Response times are measured from the scheduled start rather than the moment the
+ * request was sent, so a stalled server shows up as latency instead of as a
+ * quietly reduced request rate (coordinated omission). Time spent on the wire alone
+ * is reported separately as service time.
+ *
+ * Before the run, the backend is topped up to the scenario's catalog size with
+ * generated products. Not a unit test; start the backend, then run it with a
+ * scenario file or the name of one under {@code src/test/resources/loadtest}:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.inventory.loadtest.LoadTestHarness \
+ *     -Dexec.args="browse-heavy http://localhost:9090"
+ * </pre>
+ *
+ * The report is also written as JSON to {@code target/loadtest/<scenario>.json}.
+ */
+public class LoadTestHarness {
+    private static final int SEED_BATCH = 1_000;
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final LoadScenario scenario;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    LoadTestHarness(LoadScenario scenario, String baseUrl, ObjectMapper objectMapper) {
+        this.scenario = scenario;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTestHarness <scenario file or name> [base URL]");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        LoadScenario scenario = LoadScenario.load(args[0], objectMapper);
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:9090";
+
+        LoadTestHarness harness = new LoadTestHarness(scenario, baseUrl, objectMapper);
+        Endpoint.Target target = harness.seed();
+        Map<Endpoint, EndpointStats> stats = harness.run(target);
+
+        harness.print(stats);
+        Path report = Path.of("target", "loadtest", scenario.name() + ".json");
+        harness.writeReport(stats, report);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    Endpoint.Target seed() throws IOException, InterruptedException {
+        awaitReady();
+
+        Set<String> categoryNames = new HashSet<>();
+        for (JsonNode category : getJson("/api/categories")) {
+            categoryNames.add(category.get("name").asText());
+        }
+        for (Category category : CatalogGenerator.categories()) {
+            String name = "Load " + category.getName();
+            if (!categoryNames.contains(name)) {
+                post("/api/categories", "{\"name\":\"" + name + "\"}");
+            }
+        }
+        List<Category> categories = new ArrayList<>();
+        for (JsonNode category : getJson("/api/categories")) {
+            categories.add(new Category(category.get("id").asLong(), category.get("name").asText()));
+        }
+
+        long existing = getJson("/api/products?size=1").get("totalElements").asLong();
+        int missing = (int) Math.max(0, scenario.catalogSize() - existing);
+        if (missing > 0) {
+            System.out.printf("Seeding %,d products%n", missing);
+            List<Product> products = CatalogGenerator.products(missing, categories);
+            for (int from = 0; from < missing; from += SEED_BATCH) {
+                List<ProductDTO> batch = new ArrayList<>(SEED_BATCH);
+                for (Product product : products.subList(from, Math.min(missing, from + SEED_BATCH))) {
+                    batch.add(new ProductDTO(product.getName(), product.getPrice(), product.getStock(),
+                            product.getCategory().getId(), product.getExpirationDate()));
+                }
+                post("/api/products/batch", objectMapper.writeValueAsString(batch));
+            }
+        }
+
+        // Keyset pages cost the same at any depth, so collecting every ID stays cheap on large catalogs
+        List<Long> productIds = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = getJson("/api/products?size=" + SEED_BATCH + "&cursor="
+                    + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            page.get("content").forEach(product -> productIds.add(product.get("id").asLong()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        return new Endpoint.Target(baseUrl, categories.stream().map(Category::getId).toList(), productIds);
+    }
+
+    Map<Endpoint, EndpointStats> run(Endpoint.Target target) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        List<Endpoint> endpoints = new ArrayList<>();
+        List<Integer> cumulativeWeights = new ArrayList<>();
+        int totalWeight = 0;
+        for (Map.Entry<String, Integer> entry : scenario.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                Endpoint endpoint = Endpoint.fromKey(entry.getKey());
+                totalWeight += entry.getValue();
+                endpoints.add(endpoint);
+                cumulativeWeights.add(totalWeight);
+                stats.put(endpoint, new EndpointStats());
+            }
+        }
+
+        System.out.printf("Running %s: %.0f req/s (%s), %d s warm-up, %d s measured%n", scenario.name(),
+                scenario.ratePerSecond(), scenario.arrival(), scenario.warmupSeconds(), scenario.durationSeconds());
+        // The schedule and every request parameter come from one seeded source on this thread
+        Random random = new Random(scenario.seed());
+        double meanGapNanos = 1_000_000_000.0 / scenario.ratePerSecond();
+        boolean poisson = scenario.arrival().equals("poisson");
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            double scheduled = start;
+            while (scheduled < end) {
+                int pick = random.nextInt(totalWeight);
+                int index = 0;
+                while (cumulativeWeights.get(index) <= pick) {
+                    index++;
+                }
+                Endpoint endpoint = endpoints.get(index);
+                HttpRequest request = endpoint.request(target, random);
+                long intendedStart = (long) scheduled;
+                EndpointStats endpointStats = intendedStart >= measureFrom ? stats.get(endpoint) : null;
+
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                requests.submit(() -> send(request, intendedStart, endpointStats));
+
+                scheduled += poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+            }
+        }
+        return stats;
+    }
+
+    private void send(HttpRequest request, long intendedStart, EndpointStats stats) {
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long finished = System.nanoTime();
+        if (stats != null) {
+            stats.record(finished - intendedStart, finished - sent, ok);
+        }
+    }
+
+    void print(Map<Endpoint, EndpointStats> stats) {
+        System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s %11s%n", "endpoint", "requests", "errors",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            printRow(entry.getKey().key(), entry.getValue());
+        }
+        printRow("all", EndpointStats.merge(stats.values()));
+    }
+
+    private void printRow(String label, EndpointStats stats) {
+        Histogram response = stats.responseMicros;
+        System.out.printf("%-10s %,9d %7d %,9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n", label,
+                response.getTotalCount(), stats.errors.sum(),
+                (double) response.getTotalCount() / scenario.durationSeconds(),
+                millis(response, 50), millis(response, 90), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / 1000.0, millis(stats.serviceMicros, 99));
+    }
+
+    void writeReport(Map<Endpoint, EndpointStats> stats, Path path) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            endpoints.put(entry.getKey().key(), summary(entry.getValue()));
+        }
+        endpoints.put("all", summary(EndpointStats.merge(stats.values())));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("baseUrl", baseUrl);
+        report.put("finishedAt", Instant.now().toString());
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private Map<String, Object> summary(EndpointStats stats) {
+        Histogram response = stats.responseMicros;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", response.getTotalCount());
+        summary.put("errors", stats.errors.sum());
+        summary.put("throughputPerSecond", (double) response.getTotalCount() / scenario.durationSeconds());
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : new double[] { 50, 90, 99, 99.9 }) {
+            percentiles.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : percentile),
+                    millis(response, percentile));
+        }
+        percentiles.put("max", response.getMaxValue() / 1000.0);
+        summary.put("responseTimeMillis", percentiles);
+        summary.put("serviceTimeP99Millis", millis(stats.serviceMicros, 99));
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                        .GET().build();
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Backend at " + baseUrl + " did not become ready");
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException("POST " + path + " returned " + status);
+        }
+    }
+
+    /**
+     * Response and service time histograms for one endpoint, in microseconds.
+     */
+    static final class EndpointStats {
+        final Histogram responseMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final Histogram serviceMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+
+        void record(long responseNanos, long serviceNanos, boolean ok) {
+            responseMicros.recordValue(Math.min(HIGHEST_MICROS, responseNanos / 1000));
+            serviceMicros.recordValue(Math.min(HIGHEST_MICROS, serviceNanos / 1000));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        static EndpointStats merge(Iterable<EndpointStats> parts) {
+            EndpointStats merged = new EndpointStats();
+            for (EndpointStats part : parts) {
+                merged.responseMicros.add(part.responseMicros);
+                merged.serviceMicros.add(part.serviceMicros);
+                merged.errors.add(part.errors.sum());
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.inventory.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.inventory.model.Product;
+
+class AsyncChangeLogTest {
+
+    @Test
+    void coalesce_keepsLastRecordPerIdAndDropsEverythingBeforeClear() {
+        List<AsyncChangeLog.Entry<Product>> batch = List.of(
+                entry(1, LogRecord.put(1L, product(1L, "A1"))),
+                entry(2, LogRecord.put(2L, product(2L, "B1"))),
+                entry(3, LogRecord.put(1L, product(1L, "A2"))),
+                entry(4, LogRecord.delete(2L)),
+                entry(5, LogRecord.put(3L, product(3L, "C1"))),
+                entry(6, LogRecord.clear()),
+                entry(7, LogRecord.put(4L, product(4L, "D1"))),
+                entry(8, LogRecord.put(4L, product(4L, "D2"))));
+
+        List<LogRecord<Product>> records = AsyncChangeLog.coalesce(batch);
+
+        assertEquals(2, records.size());
+        assertEquals(LogRecord.Operation.CLEAR, records.get(0).op());
+        assertEquals("D2", records.get(1).entity().getName());
+
+        List<LogRecord<Product>> withoutClear = AsyncChangeLog.coalesce(batch.subList(0, 5));
+        assertEquals(List.of(1L, 2L, 3L), withoutClear.stream().map(LogRecord::id).toList());
+        assertEquals("A2", withoutClear.get(0).entity().getName());
+        assertEquals(LogRecord.Operation.DELETE, withoutClear.get(1).op());
+    }
+
+    @Test
+    void awaitDurable_syncMode_waitsForTheWriterToFlush() {
+        RecordingLog delegate = new RecordingLog();
+        try (AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 100, 10, true, null)) {
+            long position = log.append(LogRecord.put(1L, product(1L, "A")));
+            log.awaitDurable(position);
+
+            assertEquals(1, delegate.records.size());
+            assertTrue(delegate.syncs.get() >= 1);
+        }
+    }
+
+    @Test
+    void awaitDurable_asyncMode_returnsBeforeTheRecordIsWritten() throws Exception {
+        RecordingLog delegate = new RecordingLog();
+        delegate.blocked = new CountDownLatch(1);
+        try (AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 100, 10, false, null)) {
+            long position = log.append(LogRecord.put(1L, product(1L, "A")));
+            log.awaitDurable(position);
+            assertTrue(delegate.records.isEmpty());
+
+            delegate.blocked.countDown();
+            log.flush();
+            assertEquals(1, delegate.records.size());
+        }
+    }
+
+    @Test
+    void append_queuesACopyTakenOnTheCallersThread() {
+        RecordingLog delegate = new RecordingLog();
+        delegate.blocked = new CountDownLatch(1);
+        try (AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 100, 10, false, null)) {
+            Product product = product(1L, "A");
+            log.append(LogRecord.put(1L, product));
+            product.setName("changed after append");
+            product.setStock(99);
+
+            delegate.blocked.countDown();
+            log.flush();
+            assertEquals("A", delegate.records.get(0).entity().getName());
+            assertEquals(1.0, delegate.records.get(0).entity().getStock());
+        }
+    }
+
+    @Test
+    void writer_coalescesQueuedUpdatesAndReportsBatches() throws Exception {
+        RecordingLog delegate = new RecordingLog();
+        delegate.blocked = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        try (AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 1_000, 1_000, true,
+                (batchReceived, batchWritten, nanos) -> {
+                    received.addAndGet(batchReceived);
+                    written.addAndGet(batchWritten);
+                })) {
+            // The first record holds the writer up so the rest pile up in the queue
+            log.append(LogRecord.put(1L, product(1L, "first")));
+            for (int i = 0; i < 100; i++) {
+                log.append(LogRecord.put(2L, product(2L, "v" + i)));
+            }
+            delegate.blocked.countDown();
+            log.flush();
+
+            assertEquals(101, received.get());
+            // At most one record per ID per batch, and there are two batches at most
+            assertTrue(written.get() <= 4, "Updates to one ID should collapse, wrote " + written.get());
+            assertEquals("v99", delegate.records.get(delegate.records.size() - 1).entity().getName());
+            assertEquals(0, log.getQueueDepth());
+        }
+    }
+
+    @Test
+    void writerFailure_isRethrownToWaitersAndLaterAppends() {
+        RecordingLog delegate = new RecordingLog();
+        delegate.failure = new IllegalStateException("disk full");
+        try (AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 100, 10, true, null)) {
+            long position = log.append(LogRecord.put(1L, product(1L, "A")));
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> log.awaitDurable(position));
+            assertEquals("disk full", e.getCause().getMessage());
+            assertTrue(log.isFailed());
+            assertThrows(IllegalStateException.class, () -> log.append(LogRecord.delete(1L)));
+        }
+    }
+
+    @Test
+    void close_drainsQueueAndRejectsAppends() {
+        RecordingLog delegate = new RecordingLog();
+        AsyncChangeLog<Product> log = new AsyncChangeLog<>(delegate, Product::copy, 100, 10, false, null);
+        for (long id = 1; id <= 20; id++) {
+            log.append(LogRecord.put(id, product(id, "P" + id)));
+        }
+        log.close();
+
+        assertEquals(20, delegate.records.size());
+        assertThrows(IllegalStateException.class, () -> log.append(LogRecord.delete(1L)));
+    }
+
+    private static AsyncChangeLog.Entry<Product> entry(long position, LogRecord<Product> record) {
+        return new AsyncChangeLog.Entry<>(position, record);
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, null, 1.0, 1.0);
+    }
+
+    private static class RecordingLog implements ChangeLog<Product> {
+        final List<LogRecord<Product>> records = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger syncs = new AtomicInteger();
+        volatile CountDownLatch blocked;
+        volatile RuntimeException failure;
+
+        @Override
+        public long append(LogRecord<Product> record) {
+            if (failure != null) {
+                throw failure;
+            }
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.add(record);
+            return records.size();
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+            syncs.incrementAndGet();
+        }
+    }
+}
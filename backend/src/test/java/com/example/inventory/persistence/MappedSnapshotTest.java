@@ -0,0 +1,84 @@
+package com.example.inventory.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+class MappedSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void products_roundTripThroughBinaryFile() throws Exception {
+        Category category = new Category(4L, "Category A");
+        Product withDate = new Product(9L, "Café", category, 2.5, 7, LocalDate.of(2025, 6, 1));
+        withDate.setCreationDate(LocalDate.of(2025, 1, 2));
+        Product withoutDate = new Product(3L, "Product B", null, 1.0, 0);
+        withoutDate.setActive(false);
+        Path path = tempDir.resolve("products.snapshot.bin");
+
+        long bytes = BinarySnapshotWriter.writeProducts(path, List.of(withDate, withoutDate));
+
+        assertEquals(Files.size(path), bytes);
+        try (MappedSnapshot snapshot = MappedSnapshot.open(path)) {
+            assertTrue(snapshot.holdsProducts());
+            assertEquals(2, snapshot.size());
+
+            // Records are stored in ID order
+            Product first = snapshot.product(0, id -> null);
+            assertEquals(3L, first.getId());
+            assertNull(first.getCategory());
+            assertNull(first.getExpirationDate());
+            assertFalse(first.isActive());
+
+            Product second = snapshot.product(snapshot.find(9L), id -> id == 4L ? category : null);
+            assertEquals("Café", second.getName());
+            assertSame(category, second.getCategory());
+            assertEquals(2.5, second.getPrice());
+            assertEquals(7, second.getStock());
+            assertEquals(LocalDate.of(2025, 6, 1), second.getExpirationDate());
+            assertEquals(LocalDate.of(2025, 1, 2), second.getCreationDate());
+            assertTrue(second.isActive());
+
+            assertEquals(-1, snapshot.find(5L));
+        }
+    }
+
+    @Test
+    void categories_roundTripThroughBinaryFile() throws Exception {
+        Path path = tempDir.resolve("categories.snapshot.bin");
+        BinarySnapshotWriter.writeCategories(path,
+                List.of(new Category(2L, "Category B", false), new Category(1L, "Category A")));
+
+        try (MappedSnapshot snapshot = MappedSnapshot.open(path)) {
+            assertTrue(snapshot.holdsCategories());
+            assertEquals("Category A", snapshot.category(0).getName());
+            assertEquals(2L, snapshot.category(snapshot.find(2L)).getId());
+            assertFalse(snapshot.category(1).isActive());
+            assertThrows(IllegalStateException.class, () -> snapshot.product(0, id -> null));
+        }
+    }
+
+    @Test
+    void open_notASnapshot_throws() throws Exception {
+        Path path = tempDir.resolve("products.json");
+        Files.writeString(path, "[{\"id\":1,\"name\":\"Product A\",\"price\":1.0,\"stock\":1.0}]");
+
+        assertThrows(IOException.class, () -> MappedSnapshot.open(path));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.inventory.persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.service.ProductFileStorageService;
+
+/**
+ * Compares cold-start load time of a JSON snapshot against a memory-mapped binary
+ * snapshot. Not a unit test; run it directly, optionally passing the product count:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.inventory.persistence.SnapshotLoadBenchmark -Dexec.args=2000000
+ * </pre>
+ */
+public class SnapshotLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path jsonDir = Files.createTempDirectory("snapshot-json");
+        Path binaryDir = Files.createTempDirectory("snapshot-binary");
+
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            categories.add(new Category(id, "Category " + id));
+        }
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 1; i <= productCount; i++) {
+            products.add(new Product((long) i, "Product " + i, categories.get(i % categories.size()), i % 1000,
+                    i % 50, LocalDate.of(2025, 1, 1).plusDays(i % 365)));
+        }
+
+        new com.example.inventory.config.JacksonConfig().objectMapper()
+                .writeValue(jsonDir.resolve("products.snapshot.json").toFile(), products);
+        BinarySnapshotWriter.writeProducts(binaryDir.resolve("products.snapshot.bin"), products);
+        products = null;
+
+        System.out.printf("products: %,d%n", productCount);
+        System.out.printf("json file:   %,d bytes%n", Files.size(jsonDir.resolve("products.snapshot.json")));
+        System.out.printf("binary file: %,d bytes%n", Files.size(binaryDir.resolve("products.snapshot.bin")));
+
+        for (int round = 1; round <= 3; round++) {
+            System.out.printf("round %d: json %,d ms, binary %,d ms%n", round,
+                    timeLoad(jsonDir, "json", categories), timeLoad(binaryDir, "binary", categories));
+        }
+    }
+
+    private static long timeLoad(Path dir, String format, List<Category> categories) {
+        ProductFileStorageService storage = new ProductFileStorageService(false, dir.toString(), false, format);
+        ProductRepository repository = new ProductRepository();
+        long start = System.nanoTime();
+        storage.loadProducts(repository::loadProduct, id -> categories.get((int) id - 1));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.inventory.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.ProductRepository;
+
+class WriteAheadLogTest {
+    @TempDir
+    Path tempDir;
+
+    private Path logPath;
+
+    @BeforeEach
+    void setUp() {
+        logPath = tempDir.resolve("products.wal");
+    }
+
+    @Test
+    void replay_afterAppends_returnsRecordsInOrder() {
+        WriteAheadLog<Product> log = newLog();
+        log.open();
+        log.append(LogRecord.put(1L, new Product(1L, "Product A", new Category(1L, "Category A"), 1.0, 2.0)));
+        log.append(LogRecord.delete(1L));
+        log.append(LogRecord.clear());
+        log.close();
+
+        List<LogRecord<Product>> records = new ArrayList<>();
+        long replayed = newLog().replay(records::add);
+
+        assertEquals(3, replayed);
+        assertEquals(LogRecord.Operation.PUT, records.get(0).op());
+        assertEquals("Product A", records.get(0).entity().getName());
+        assertEquals("Category A", records.get(0).entity().getCategory().getName());
+        assertEquals(LogRecord.Operation.DELETE, records.get(1).op());
+        assertEquals(1L, records.get(1).id());
+        assertNull(records.get(1).entity());
+        assertEquals(LogRecord.Operation.CLEAR, records.get(2).op());
+    }
+
+    @Test
+    void replay_tornTrailingRecord_isDroppedAndTruncated() throws Exception {
+        WriteAheadLog<Product> log = newLog();
+        log.open();
+        log.append(LogRecord.put(1L, new Product(1L, "Product A", null, 1.0, 2.0)));
+        log.close();
+        long intactSize = Files.size(logPath);
+        Files.write(logPath, "{\"op\":\"PUT\",\"id\":2,\"ent".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        List<LogRecord<Product>> records = new ArrayList<>();
+        newLog().replay(records::add);
+
+        assertEquals(1, records.size());
+        assertEquals(intactSize, Files.size(logPath));
+    }
+
+    @Test
+    void repository_withChangeLog_restoresStateOnReplay() {
+        WriteAheadLog<Product> log = newLog();
+        log.open();
+        ProductRepository repository = new ProductRepository();
+        repository.setChangeLog(log);
+
+        Product kept = repository.save(new Product("Product A", null, 1.0, 2.0));
+        Product deleted = repository.save(new Product("Product B", null, 3.0, 4.0));
+        kept.setActive(false);
+        repository.updateById(kept.getId(), kept);
+        repository.deleteById(deleted.getId());
+        log.close();
+
+        ProductRepository restored = new ProductRepository();
+        newLog().replay(restored::apply);
+
+        assertEquals(1, restored.getAll().size());
+        assertFalse(restored.findById(kept.getId()).get().isActive());
+        assertTrue(restored.findById(deleted.getId()).isEmpty());
+        assertEquals(2L, restored.getIdGenerator().get());
+    }
+
+    @Test
+    void repository_saveAll_logsEveryProductWithOneSync() {
+        WriteAheadLog<Product> log = newLog();
+        log.open();
+        ProductRepository repository = new ProductRepository();
+        repository.setChangeLog(log);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(new Product("Product " + i, null, 1.0, 2.0));
+        }
+
+        repository.saveAll(batch);
+        long syncs = log.getSyncCount();
+        log.close();
+
+        assertEquals(1, syncs);
+        ProductRepository restored = new ProductRepository();
+        newLog().replay(restored::apply);
+        assertEquals(500, restored.getAll().size());
+        assertEquals(500L, restored.getIdGenerator().get());
+    }
+
+    @Test
+    void awaitDurable_concurrentWriters_shareSyncs() throws Exception {
+        WriteAheadLog<Product> log = newLog();
+        log.open();
+        int threads = 8;
+        int appendsPerThread = 200;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        long position = log.append(LogRecord.put((long) i, new Product("Product", null, 1.0, 1.0)));
+                        log.awaitDurable(position);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.close();
+
+        assertEquals(threads * appendsPerThread, log.getAppendedPosition());
+        assertTrue(log.getSyncCount() <= threads * appendsPerThread);
+        assertEquals(threads * appendsPerThread, newLog().replay(record -> {
+        }));
+    }
+
+    private WriteAheadLog<Product> newLog() {
+        return new WriteAheadLog<>(logPath, new JacksonConfig().objectMapper(), Product.class, true);
+    }
+}
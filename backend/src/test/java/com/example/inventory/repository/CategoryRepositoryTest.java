@@ -6,10 +6,16 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.example.inventory.model.Category;
 
@@ -117,4 +123,93 @@ class CategoryRepositoryTest {
 
         assertEquals(2, repository.getIdGenerator().get());
     }
+
+    @Test
+    void save_nameHeldIgnoringCase_throwsAndSavesNothing() {
+        repository.save(new Category("Category A"));
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(new Category("CATEGORY a")));
+        assertEquals(1, repository.getAll().size());
+        // The rejected save did not use up an ID
+        assertEquals(2L, repository.save(new Category("Category B")).getId());
+    }
+
+    @Test
+    void findByName_ignoresCaseAndFollowsRenamesAndDeletes() {
+        Category saved = repository.save(new Category("Category A"));
+
+        assertEquals(Optional.of(saved), repository.findByName("category a"));
+        repository.rename(saved.getId(), "Category B");
+        assertTrue(repository.findByName("Category A").isEmpty());
+        assertEquals(Optional.of(saved), repository.findByName("CATEGORY B"));
+
+        repository.deleteById(saved.getId());
+        assertTrue(repository.findByName("Category B").isEmpty());
+    }
+
+    @Test
+    void rename_nameHeldByAnother_keepsOldName() {
+        repository.save(new Category("Category A"));
+        Category other = repository.save(new Category("Category B"));
+
+        assertThrows(IllegalArgumentException.class, () -> repository.rename(other.getId(), "category a"));
+        assertEquals("Category B", other.getName());
+        assertEquals(Optional.of(other), repository.findByName("Category B"));
+        // Changing only the case of its own name is allowed
+        assertEquals("CATEGORY B", repository.rename(other.getId(), "CATEGORY B").getName());
+    }
+
+    @Test
+    void softDelete_releasesName() {
+        Category saved = repository.save(new Category("Category A"));
+
+        saved.setActive(false);
+        repository.updateById(saved.getId(), saved);
+
+        assertTrue(repository.findByName("Category A").isEmpty());
+        Category replacement = repository.save(new Category("category a"));
+        assertEquals(Optional.of(replacement), repository.findByName("Category A"));
+    }
+
+    @Test
+    void clear_releasesNames() {
+        repository.save(new Category("Category A"));
+
+        repository.clear();
+
+        assertTrue(repository.findByName("Category A").isEmpty());
+        assertNotNull(repository.save(new Category("Category A")));
+    }
+
+    @Test
+    void save_concurrentSameName_exactlyOneWins() throws Exception {
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String name = i % 2 == 0 ? "Frozen" : "FROZEN";
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        repository.save(new Category(name));
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int saved = 0;
+            for (Future<Boolean> result : results) {
+                saved += result.get() ? 1 : 0;
+            }
+
+            assertEquals(1, saved);
+            assertEquals(1, repository.getAll().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.inventory.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Drives random creates, edits, stock changes, soft deletes and deletes through the
+ * repository and checks after each step that the running totals match a full
+ * recompute over every product.
+ */
+class InStockTotalsConsistencyTest {
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void runningTotals_matchFullRecompute() {
+        Random random = new Random(12345);
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            categories.add(new Category(id, "Category " + id));
+        }
+        ProductRepository repository = new ProductRepository();
+        List<Long> ids = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 4 || ids.isEmpty()) {
+                Category category = random.nextInt(10) == 0 ? null : categories.get(random.nextInt(5));
+                Product product = new Product("Product " + step, category, random.nextInt(10_000) / 100.0,
+                        random.nextInt(4) == 0 ? 0 : random.nextInt(50), LocalDate.of(2025, 1, 1));
+                ids.add(repository.save(product).getId());
+            } else {
+                Long id = ids.get(random.nextInt(ids.size()));
+                Product product = repository.findById(id).orElseThrow();
+                switch (action) {
+                    case 4, 5 -> product.setStock(random.nextInt(3) == 0 ? 0 : random.nextInt(50));
+                    case 6 -> product.setPrice(random.nextInt(10_000) / 100.0);
+                    case 7 -> product.setCategory(categories.get(random.nextInt(5)));
+                    case 8 -> product.setActive(false);
+                    default -> {
+                        repository.deleteById(id);
+                        ids.remove(id);
+                        continue;
+                    }
+                }
+                repository.updateById(id, product);
+            }
+            if (step == 2_500) {
+                repository.clear();
+                ids.clear();
+            }
+            assertMatchesRecompute(repository, step);
+        }
+    }
+
+    private static void assertMatchesRecompute(ProductRepository repository, int step) {
+        List<StockTotals> expected = recompute(repository.getAll());
+        List<StockTotals> actual = repository.getInStockTotals();
+
+        assertEquals(expected.size(), actual.size(), "groups at step " + step);
+        for (int i = 0; i < expected.size(); i++) {
+            StockTotals want = expected.get(i);
+            StockTotals got = actual.get(i);
+            String where = "category " + want.getCategoryId() + " at step " + step;
+            assertEquals(want.getCategoryId(), got.getCategoryId(), where);
+            assertEquals(want.getCategoryName(), got.getCategoryName(), where);
+            assertEquals(want.getCount(), got.getCount(), where);
+            assertEquals(want.getTotalStock(), got.getTotalStock(), TOLERANCE, where);
+            assertEquals(want.getTotalValue(), got.getTotalValue(), TOLERANCE, where);
+            assertEquals(want.getAveragePrice(), got.getAveragePrice(), TOLERANCE, where);
+        }
+    }
+
+    // The metrics as they were computed before the running totals: in-stock products, grouped by category ID
+    private static List<StockTotals> recompute(List<Product> products) {
+        Map<Long, List<Product>> byCategory = new TreeMap<>();
+        List<Product> inStock = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getStock() > 0) {
+                inStock.add(product);
+                if (product.getCategory() != null) {
+                    byCategory.computeIfAbsent(product.getCategory().getId(), key -> new ArrayList<>()).add(product);
+                }
+            }
+        }
+
+        List<StockTotals> totals = new ArrayList<>();
+        for (Map.Entry<Long, List<Product>> entry : byCategory.entrySet()) {
+            totals.add(sum(entry.getKey(), entry.getValue().get(0).getCategory().getName(), entry.getValue()));
+        }
+        totals.add(sum(0L, "Overall", inStock));
+        return totals;
+    }
+
+    private static StockTotals sum(Long categoryId, String name, List<Product> products) {
+        double stock = 0;
+        double value = 0;
+        double prices = 0;
+        for (Product product : products) {
+            stock += product.getStock();
+            value += product.getPrice() * product.getStock();
+            prices += product.getPrice();
+        }
+        return new StockTotals(categoryId, name, products.size(), stock, value, prices);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.inventory.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+class ProductColumnsTest {
+    private final Category fruit = new Category(1L, "Fruit");
+    private final Category dairy = new Category(2L, "Dairy");
+    private ProductRepository repository;
+    private ProductColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository(true);
+        columns = repository.columns();
+        repository.save(new Product("Green Apple", fruit, 2.0, 10));
+        repository.save(new Product("Banana", fruit, 1.0, 0));
+        repository.save(new Product("Milk", dairy, 3.0, 4));
+        repository.save(new Product("Pineapple", null, 5.0, 1));
+    }
+
+    @Test
+    void filter_matchesAvailability() {
+        assertEquals(List.of("Green Apple", "Banana", "Milk", "Pineapple"), names(columns.filter(null)));
+        assertEquals(List.of("Banana"), names(columns.filter("outofstock")));
+        assertEquals(List.of("Green Apple", "Milk", "Pineapple"), names(columns.filter("INSTOCK")));
+        assertTrue(columns.filter("unknown").isEmpty());
+    }
+
+    @Test
+    void filter_skipsInactiveProducts() {
+        Product milk = repository.findById(3L).orElseThrow();
+        milk.setActive(false);
+        repository.updateById(3L, milk);
+
+        assertEquals(List.of("Green Apple", "Banana", "Pineapple"), names(columns.filter(null)));
+    }
+
+    @Test
+    void updateAndDelete_keepColumnsInStep() {
+        Product apple = repository.findById(1L).orElseThrow();
+        apple.setName("Red Apple");
+        apple.setCategory(dairy);
+        repository.updateById(1L, apple);
+        repository.deleteById(2L);
+
+        assertEquals(3, columns.size());
+        assertEquals(List.of("Red Apple", "Pineapple", "Milk"), names(columns.filter(null)));
+        assertTrue(columns.filter("outofstock").isEmpty());
+    }
+
+    @Test
+    void clear_emptiesColumns() {
+        repository.clear();
+
+        assertEquals(0, columns.size());
+        assertTrue(columns.filter(null).isEmpty());
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+}
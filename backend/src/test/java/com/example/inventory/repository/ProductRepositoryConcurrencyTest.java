@@ -0,0 +1,141 @@
+package com.example.inventory.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.inventory.model.Product;
+
+class ProductRepositoryConcurrencyTest {
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+    }
+
+    @Test
+    void save_concurrentWriters_noLostWritesAndUniqueIds() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        runConcurrently(threads, threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                repository.save(new Product("Product " + threadIndex + "-" + i, null, 1.0, 1.0));
+            }
+        });
+
+        List<Product> all = repository.getAll();
+        Set<Long> ids = new HashSet<>();
+        for (Product product : all) {
+            ids.add(product.getId());
+        }
+
+        assertEquals(threads * OPERATIONS_PER_THREAD, all.size());
+        assertEquals(all.size(), ids.size());
+        assertEquals(threads * OPERATIONS_PER_THREAD, repository.getIdGenerator().get());
+    }
+
+    @Test
+    void updateById_concurrentWithGetAll_readersNeverFail() throws Exception {
+        int writers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        for (int i = 0; i < 1_000; i++) {
+            repository.save(new Product("Product " + i, null, 1.0, 1.0));
+        }
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        ConcurrentLinkedQueue<Throwable> readerErrors = new ConcurrentLinkedQueue<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    for (Product product : repository.getAll()) {
+                        product.getName();
+                    }
+                }
+            } catch (Throwable t) {
+                readerErrors.add(t);
+            }
+        });
+        reader.start();
+
+        runConcurrently(writers, threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                long id = (i % 1_000) + 1;
+                repository.updateById(id, new Product("Updated " + threadIndex, null, i, i));
+                if (i % 100 == 0) {
+                    repository.save(new Product("Extra " + threadIndex + "-" + i, null, 1.0, 1.0));
+                }
+            }
+        });
+
+        done.set(true);
+        reader.join();
+
+        assertTrue(readerErrors.isEmpty(), () -> "Reader failed: " + readerErrors.peek());
+        assertEquals(1_000 + writers * (OPERATIONS_PER_THREAD / 100), repository.getAll().size());
+    }
+
+    @Test
+    void adjustStock_concurrentDecrementsOnOneProduct_noLostUpdates() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int initialStock = threads * OPERATIONS_PER_THREAD / 2;
+        Product hot = repository.save(new Product("Hot SKU", null, 1.0, initialStock));
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threads, threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    repository.adjustStock(hot.getId(), -1, 0, Double.POSITIVE_INFINITY);
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0.0, repository.findById(hot.getId()).get().getStock());
+        assertEquals(threads * OPERATIONS_PER_THREAD - initialStock, rejected.get());
+    }
+
+    private void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int threadIndex) throws Exception;
+    }
+}
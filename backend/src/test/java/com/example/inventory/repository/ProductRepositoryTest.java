@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Optional;
 
+import com.example.inventory.model.Category;
 import com.example.inventory.model.Product;
 
 class ProductRepositoryTest {
@@ -136,4 +139,76 @@ class ProductRepositoryTest {
 
         assertEquals(2L, repository.getIdGenerator().get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadProduct_keepsIdsAndTracksMaxId() {
+        Product product1 = new Product();
+        product1.setId(7L);
+        Product product2 = new Product();
+        product2.setId(3L);
+
+        repository.loadProduct(product1);
+        repository.loadProduct(product2);
+
+        assertEquals(2, repository.getAll().size());
+        assertTrue(repository.findById(7L).isPresent());
+        assertEquals(7L, repository.getIdGenerator().get());
+        assertEquals(8L, repository.save(new Product()).getId());
+    }
+
+    @Test
+    void findByCategoryIds_followsUpdatesSoftDeletesAndDeletes() {
+        Category fruit = new Category(1L, "Fruit");
+        Category dairy = new Category(2L, "Dairy");
+        Product apple = repository.save(new Product("Apple", fruit, 1.0, 5));
+        Product milk = repository.save(new Product("Milk", dairy, 2.0, 5));
+        repository.save(new Product("Pear", fruit, 1.5, 5));
+
+        assertEquals(2, repository.findByCategoryIds(List.of(1L)).size());
+
+        apple.setCategory(dairy);
+        repository.updateById(apple.getId(), apple);
+        milk.setActive(false);
+        repository.updateById(milk.getId(), milk);
+
+        assertEquals(List.of("Pear"), names(repository.findByCategoryIds(List.of(1L))));
+        assertEquals(List.of("Apple"), names(repository.findByCategoryIds(List.of(2L))));
+
+        repository.deleteById(apple.getId());
+        assertTrue(repository.findByCategoryIds(List.of(2L, 3L)).isEmpty());
+        repository.clear();
+        assertTrue(repository.findByCategoryIds(List.of(1L)).isEmpty());
+    }
+
+    @Test
+    void adjustStock_missingOrSoftDeleted_throwsNotFound() {
+        Product product = repository.save(new Product("Product A", null, 1.0, 5));
+        product.setActive(false);
+        repository.updateById(product.getId(), product);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.adjustStock(99L, 1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> repository.adjustStock(product.getId(), 1, 0, 10));
+        assertEquals(5, repository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void resolveCategories_swapsPlaceholdersWithoutReindexing() {
+        Category placeholder = new Category(1L, null);
+        Category shared = new Category(1L, "Fruit");
+        Product apple = new Product("Apple", placeholder, 2.0, 3);
+        apple.setId(1L);
+        repository.loadProduct(apple);
+        long version = repository.getCategoryVersion(1L);
+
+        assertEquals(1, repository.resolveCategories(id -> id == 1L ? shared : null));
+
+        assertSame(shared, repository.findById(1L).orElseThrow().getCategory());
+        assertEquals("Fruit", repository.getInStockTotals().get(0).getCategoryName());
+        assertEquals(6.0, repository.getInStockTotals().get(0).getTotalValue());
+        assertEquals(version, repository.getCategoryVersion(1L));
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+}
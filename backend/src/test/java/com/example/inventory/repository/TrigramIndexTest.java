@@ -0,0 +1,60 @@
+package com.example.inventory.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TrigramIndexTest {
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Green Apple");
+        index.put(2L, "Pineapple Juice");
+        index.put(3L, "Apricot");
+        index.put(4L, "Plea Bargain");
+    }
+
+    @Test
+    void search_longQuery_intersectsAndVerifiesCandidates() {
+        assertEquals(Set.of(1L, 2L), ids(index.search("APPLE")));
+        assertEquals(Set.of(2L), ids(index.search("le ju")));
+        assertEquals(Set.of(4L), ids(index.search("plea")));
+        assertTrue(index.search("banana").isEmpty());
+    }
+
+    @Test
+    void search_shortQuery_scansLowercaseNames() {
+        assertEquals(Set.of(1L, 2L, 3L), ids(index.search("AP")));
+        assertEquals(Set.of(1L, 2L, 3L, 4L), ids(index.search("")));
+    }
+
+    @Test
+    void put_rename_replacesPostings() {
+        index.put(1L, "Red Pear");
+
+        assertEquals(Set.of(2L), ids(index.search("apple")));
+        assertEquals(Set.of(1L), ids(index.search("red pe")));
+    }
+
+    @Test
+    void remove_andClear_dropEntries() {
+        index.remove(2L);
+        assertEquals(Set.of(1L), ids(index.search("apple")));
+
+        index.put(5L, null);
+        index.clear();
+        assertTrue(index.search("ap").isEmpty());
+    }
+
+    private static Set<Long> ids(List<Long> ids) {
+        return new TreeSet<>(ids);
+    }
+}
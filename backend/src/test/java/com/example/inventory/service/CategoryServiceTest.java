@@ -2,17 +2,17 @@ package com.example.inventory.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.List;
 import java.util.Optional;
@@ -48,16 +48,14 @@ class CategoryServiceTest {
     void save_DuplicatedCategoryName_throwsDuplicatedNameException() {
         Category category = new Category("Category A");
 
-        Category existing = new Category(1L, "Category A");
-
-        when(repository.getAll()).thenReturn(List.of(existing));
+        when(repository.save(category))
+                .thenThrow(new IllegalArgumentException("Category with the same name already exists"));
 
-        try {
-            service.saveCategory(category);
-        } catch (IllegalArgumentException e) {
-            assertEquals("Category with the same name already exists", e.getMessage());
-        }
-        verify(repository).getAll();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.saveCategory(category));
+        assertEquals("Category with the same name already exists", e.getMessage());
+        // Uniqueness comes from the repository's name index, not a scan
+        verify(repository, never()).getAll();
     }
 
     @Test
@@ -67,16 +65,23 @@ class CategoryServiceTest {
         Category updated = new Category(1L, "Category B");
 
         when(repository.findById(1L)).thenReturn(Optional.of(existing));
-        when(repository.updateById(eq(1L), any(Category.class))).thenReturn(updated);
+        when(repository.rename(1L, "Category B")).thenReturn(updated);
 
         Category result = service.updateCategoryById(1L, updated);
         assertEquals("Category B", result.getName());
         verify(repository).findById(1L);
+        verify(repository).rename(1L, "Category B");
+        verify(repository, never()).getAll();
+    }
+
+    @Test
+    void findByName_delegatesToRepository() {
+        Category saved = new Category(1L, "Category A");
+
+        when(repository.findByName("category a")).thenReturn(Optional.of(saved));
 
-        ArgumentCaptor<Category> captor = ArgumentCaptor.forClass(Category.class);
-        verify(repository).updateById(eq(1L), captor.capture());
-        Category passedToRepository = captor.getValue();
-        assertEquals(updated.getName(), passedToRepository.getName());
+        assertEquals(Optional.of(saved), service.getCategoryByName("category a"));
+        assertTrue(service.getCategoryByName("Category B").isEmpty());
     }
 
     @Test
@@ -0,0 +1,87 @@
+package com.example.inventory.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+/**
+ * Compares a full sort plus skip/limit against {@link PageSelector} and
+ * {@link ProductSortKeys} across catalog sizes and page depths, sorting by price
+ * then name and by category then name. Not a unit test; run it directly:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.inventory.service.PageSelectorBenchmark
+ * </pre>
+ */
+public class PageSelectorBenchmark {
+    private static final int[] CATALOG_SIZES = { 10_000, 100_000, 1_000_000 };
+    private static final int[] PAGES = { 0, 10, 100, 1_000, 20_000 };
+    private static final int PAGE_SIZE = 10;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        run("price, name", Comparator.comparingDouble(Product::getPrice)
+                .thenComparing(Product::getName, String.CASE_INSENSITIVE_ORDER),
+                ProductSortKeys.of(List.of(new ProductSortKeys.Key(ProductSortKeys.Field.PRICE, true),
+                        new ProductSortKeys.Key(ProductSortKeys.Field.NAME, true))));
+        run("category, name", Comparator.comparing((Product p) -> p.getCategory().getName(),
+                String.CASE_INSENSITIVE_ORDER).thenComparing(Product::getName, String.CASE_INSENSITIVE_ORDER),
+                ProductSortKeys.of(List.of(new ProductSortKeys.Key(ProductSortKeys.Field.CATEGORY, true),
+                        new ProductSortKeys.Key(ProductSortKeys.Field.NAME, true))));
+    }
+
+    private static void run(String order, Comparator<Product> comparator, ProductSortKeys sortKeys) {
+        System.out.printf("%nSorted by %s%n", order);
+        System.out.printf("%10s %6s %14s %14s %14s%n", "products", "page", "full sort ms", "selector ms",
+                "sort keys ms");
+        for (int catalogSize : CATALOG_SIZES) {
+            List<Product> products = products(catalogSize);
+            for (int page : PAGES) {
+                if ((long) page * PAGE_SIZE >= catalogSize) {
+                    continue;
+                }
+                double fullSort = best(() -> products.stream()
+                        .sorted(comparator)
+                        .skip((long) page * PAGE_SIZE)
+                        .limit(PAGE_SIZE)
+                        .toList());
+                double selector = best(() -> PageSelector.page(products, comparator, page, PAGE_SIZE));
+                double keys = best(() -> sortKeys.page(products, page, PAGE_SIZE));
+                System.out.printf("%10d %6d %14.2f %14.2f %14.2f%n", catalogSize, page, fullSort, selector, keys);
+            }
+        }
+    }
+
+    private static List<Product> products(int count) {
+        Random random = new Random(7);
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            categories.add(new Category(id, (id % 2 == 0 ? "Category " : "category ") + id));
+        }
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(new Product((long) i, "Product " + random.nextInt(count),
+                    categories.get(random.nextInt(categories.size())),
+                    random.nextInt(100_000) / 100.0, random.nextInt(100), LocalDate.of(2025, 1, 1)));
+        }
+        return products;
+    }
+
+    // Best of several rounds after one warm-up run, in milliseconds
+    private static double best(Runnable work) {
+        work.run();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            work.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
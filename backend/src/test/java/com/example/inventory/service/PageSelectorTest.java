@@ -0,0 +1,51 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+class PageSelectorTest {
+    // Compare on the tens digit only, so many elements tie
+    private static final Comparator<Integer> COARSE = Comparator.comparingInt(value -> value / 10 % 10);
+
+    @Test
+    void page_matchesStableSortAtEveryDepth() {
+        List<Integer> items = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            items.add(random.nextInt(10_000));
+        }
+        List<Integer> sorted = new ArrayList<>(items);
+        sorted.sort(COARSE);
+
+        for (int size : new int[] { 1, 7, 10, 50 }) {
+            for (int page = 0; (long) page * size < items.size() + size; page++) {
+                int from = Math.min(items.size(), page * size);
+                int to = Math.min(items.size(), from + size);
+                assertEquals(sorted.subList(from, to), PageSelector.page(items, COARSE, page, size),
+                        "page " + page + " size " + size);
+            }
+        }
+    }
+
+    @Test
+    void topK_keepsInputOrderWhenEverythingTies() {
+        List<Integer> items = List.of(5, 3, 9, 1, 7, 2, 8, 6, 4, 0, 11, 12, 13, 14, 15, 16, 17);
+
+        assertEquals(List.of(5, 3, 9), PageSelector.topK(items, (a, b) -> 0, 3));
+    }
+
+    @Test
+    void page_outOfRangeOrEmpty() {
+        assertTrue(PageSelector.page(List.of(1, 2, 3), COARSE, 5, 10).isEmpty());
+        assertTrue(PageSelector.page(List.of(1, 2, 3), COARSE, 0, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> PageSelector.page(List.of(1), COARSE, -1, 10));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.ProductRepository;
+
+class ProductFileStorageServiceTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadProducts_streamsEveryRecordAndKeepsIds() throws Exception {
+        Category category = new Category(1L, "Category A");
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            // Leave gaps so the loader has to track the max ID rather than count
+            products.add(new Product(id * 3, "Product " + id, category, id, id));
+        }
+        new JacksonConfig().objectMapper().writeValue(tempDir.resolve("products.snapshot.json").toFile(), products);
+
+        ProductFileStorageService storage = new ProductFileStorageService(true, tempDir.toString(), true, "json");
+        ProductRepository repository = new ProductRepository();
+
+        long loaded = storage.loadProducts(repository::loadProduct, id -> new Category(id, null));
+
+        assertEquals(5_000, loaded);
+        assertEquals(5_000, repository.getAll().size());
+        assertEquals(15_000L, repository.getIdGenerator().get());
+        assertEquals("Product 7", repository.findById(21L).get().getName());
+        assertEquals("Category A", repository.findById(21L).get().getCategory().getName());
+    }
+
+    @Test
+    void loadProducts_emptyArray_loadsNothing() throws Exception {
+        new JacksonConfig().objectMapper().writeValue(tempDir.resolve("products.snapshot.json").toFile(), List.of());
+
+        ProductFileStorageService storage = new ProductFileStorageService(true, tempDir.toString(), true, "json");
+        List<Product> loaded = new ArrayList<>();
+
+        assertEquals(0, storage.loadProducts(loaded::add, id -> new Category(id, null)));
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void openLog_asyncWriter_persistsQueuedWritesOnClose() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductFileStorageService storage = new ProductFileStorageService(true, tempDir.toString(), true, "json",
+                "async", 100, 10, meterRegistry);
+        ProductRepository repository = new ProductRepository();
+        repository.setChangeLog(storage.openLog(repository::apply));
+        Product product = repository.save(new Product(null, "Product A", null, 1.0, 1.0));
+        for (int i = 2; i <= 50; i++) {
+            product.setStock(i);
+            repository.updateById(product.getId(), product);
+        }
+        storage.closeLog();
+
+        ProductRepository restarted = new ProductRepository();
+        new ProductFileStorageService(true, tempDir.toString(), true, "json").openLog(restarted::apply);
+
+        assertEquals(50.0, restarted.findById(product.getId()).get().getStock());
+        assertEquals(50.0, meterRegistry.get("inventory.persistence.writer.records").tag("stage", "received")
+                .counter().count());
+        assertTrue(meterRegistry.get("inventory.persistence.writer.flush").timer().count() >= 1);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.example.inventory.dto.PagedResponse;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+import com.example.inventory.service.ProductQueryCache.QueryKey;
+
+class ProductQueryCacheTest {
+    private final Category fruit = new Category(1L, "Fruit");
+    private final Category dairy = new Category(2L, "Dairy");
+    private SimpleMeterRegistry meterRegistry;
+    private ProductRepository repository;
+    private CategoryRepository categoryRepository;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new ProductRepository();
+        categoryRepository = new CategoryRepository();
+        repository.save(new Product("Apple", fruit, 1.0, 5));
+        repository.save(new Product("Milk", dairy, 2.0, 5));
+        queries = new AtomicInteger();
+    }
+
+    @Test
+    void get_equivalentParameters_shareOneEntry() {
+        ProductQueryCache cache = new ProductQueryCache(true, 10, 1_000, repository, categoryRepository,
+                meterRegistry);
+
+        PagedResponse<Product> first = cache.get(
+                QueryKey.of("APPLE", List.of(2L, 1L), "", 0, 10, "price", "ASC", null, "desc"), query());
+        PagedResponse<Product> second = cache.get(
+                QueryKey.of("apple", List.of(1L, 2L, 1L), null, 0, 10, "Price", "asc", "", "asc"),
+                query());
+
+        assertSame(first, second);
+        assertEquals(1, queries.get());
+        assertEquals(1.0, meterRegistry.get("inventory.query.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.query.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_writeInvalidatesOnlyAffectedCategories() {
+        ProductQueryCache cache = new ProductQueryCache(true, 10, 1_000, repository, categoryRepository,
+                meterRegistry);
+        QueryKey fruitOnly = QueryKey.of(null, List.of(1L), null, 0, 10, null, null, null, null);
+        QueryKey dairyOnly = QueryKey.of(null, List.of(2L), null, 0, 10, null, null, null, null);
+        QueryKey everything = QueryKey.of(null, null, null, 0, 10, null, null, null, null);
+        cache.get(fruitOnly, query());
+        cache.get(dairyOnly, query());
+        cache.get(everything, query());
+
+        Product milk = repository.findById(2L).orElseThrow();
+        milk.setStock(0);
+        repository.updateById(2L, milk);
+
+        cache.get(fruitOnly, query());
+        assertEquals(3, queries.get());
+        cache.get(dairyOnly, query());
+        cache.get(everything, query());
+        assertEquals(5, queries.get());
+    }
+
+    @Test
+    void get_movingAProductInvalidatesBothCategories() {
+        ProductQueryCache cache = new ProductQueryCache(true, 10, 1_000, repository, categoryRepository,
+                meterRegistry);
+        QueryKey fruitOnly = QueryKey.of(null, List.of(1L), null, 0, 10, null, null, null, null);
+        cache.get(fruitOnly, query());
+
+        Product apple = repository.findById(1L).orElseThrow();
+        apple.setCategory(dairy);
+        repository.updateById(1L, apple);
+
+        cache.get(fruitOnly, query());
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedOverProductLimit() {
+        ProductQueryCache cache = new ProductQueryCache(true, 10, 3, repository, categoryRepository,
+                meterRegistry);
+        cache.registerGauges();
+        QueryKey first = QueryKey.of(null, null, null, 0, 10, "name", null, null, null);
+        QueryKey second = QueryKey.of(null, null, null, 0, 10, "price", null, null, null);
+        cache.get(first, query());
+        cache.get(second, query());
+
+        assertEquals(1, cache.size());
+        assertEquals(1.0, meterRegistry.get("inventory.query.cache.evictions").counter().count());
+        assertEquals(256 + 2 * 8, meterRegistry.get("inventory.query.cache.memory").gauge().value());
+
+        cache.get(second, query());
+        cache.get(first, query());
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void get_categoryRenameInvalidatesPagesSortedByCategory() {
+        ProductQueryCache cache = new ProductQueryCache(true, 10, 1_000, repository, categoryRepository,
+                meterRegistry);
+        Category saved = categoryRepository.save(new Category("Frozen"));
+        QueryKey byCategory = QueryKey.of(null, null, null, 0, 10, "category", null, null, null);
+        QueryKey byName = QueryKey.of(null, null, null, 0, 10, "name", null, null, null);
+        cache.get(byCategory, query());
+        cache.get(byName, query());
+
+        saved.setName("Chilled");
+        categoryRepository.updateById(saved.getId(), saved);
+
+        cache.get(byCategory, query());
+        cache.get(byName, query());
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void get_disabled_alwaysQueries() {
+        ProductQueryCache cache = ProductQueryCache.disabled();
+        QueryKey key = QueryKey.of(null, null, null, 0, 10, null, null, null, null);
+
+        cache.get(key, query());
+        cache.get(key, query());
+
+        assertEquals(2, queries.get());
+        assertEquals(0, cache.size());
+    }
+
+    private Supplier<PagedResponse<Product>> query() {
+        return () -> {
+            queries.incrementAndGet();
+            List<Product> products = repository.getAll();
+            return new PagedResponse<>(products, products.size());
+        };
+    }
+}
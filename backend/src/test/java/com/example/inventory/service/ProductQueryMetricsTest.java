@@ -0,0 +1,65 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+class ProductQueryMetricsTest {
+    private final Category fruit = new Category(1L, "Fruit");
+    private final Category dairy = new Category(2L, "Dairy");
+    private SimpleMeterRegistry meterRegistry;
+    private ProductRepository repository;
+    private ProductService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new ProductRepository(false, meterRegistry);
+        repository.save(new Product("Apple", fruit, 1.0, 5));
+        repository.save(new Product("Apple Juice", fruit, 3.0, 0));
+        repository.save(new Product("Milk", dairy, 2.0, 5));
+        service = new ProductService(repository, new CategoryService(new CategoryRepository(meterRegistry)),
+                ProductQueryCache.disabled(), new ProductQueryMetrics(meterRegistry),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void getFilteredSortedProducts_recordsEveryPhase() {
+        service.getFilteredSortedProducts("apple", null, "instock", 0, 10, "price", "desc", "bogus", "asc");
+
+        for (String phase : List.of("candidates", "filter", "sort")) {
+            assertEquals(1, meterRegistry.get("inventory.query.phase").tag("phase", phase).timer().count());
+        }
+        assertEquals(2, meterRegistry.get("inventory.query.candidates").tag("source", "name").summary()
+                .totalAmount());
+        assertEquals(1, meterRegistry.get("inventory.query.matched").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("inventory.query.result.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("inventory.query.sort.keys").tag("key", "price")
+                .tag("position", "primary").counter().count());
+        // Unknown fields are folded into "none" so they cannot grow the tag set
+        assertEquals(1, meterRegistry.get("inventory.query.sort.keys").tag("key", "none")
+                .tag("position", "secondary").counter().count());
+    }
+
+    @Test
+    void getFilteredSortedProducts_categoryFilter_countsCandidatesFromCategoryIndex() {
+        service.getFilteredSortedProducts(null, List.of(2L), null, 0, 10, null, null, null, null);
+
+        assertEquals(1, meterRegistry.get("inventory.query.candidates").tag("source", "category").summary()
+                .totalAmount());
+        assertEquals(1, meterRegistry.get("inventory.repository.operation").tag("store", "products")
+                .tag("op", "findByCategory").timer().count());
+        assertEquals(3, meterRegistry.get("inventory.repository.operation").tag("store", "products")
+                .tag("op", "save").timer().count());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+class ProductQueryPlanTest {
+    private final Category fruit = new Category(1L, "Fruit");
+    private final Category large = new Category(5_000_000_000L, "Large");
+
+    @Test
+    void of_normalizesParameters() {
+        ProductQueryPlan plan = ProductQueryPlan.of("ApPle", Arrays.asList(3L, 1L, null, 3L), "InStock");
+
+        assertEquals("apple", plan.needle());
+        assertEquals(List.of(1L, 3L), plan.categoryIds());
+        assertEquals(ProductQueryPlan.Availability.IN_STOCK, plan.availability());
+        assertNull(ProductQueryPlan.of("", List.of(), null).needle());
+        assertNull(ProductQueryPlan.of("", List.of(), null).categoryIds());
+    }
+
+    @Test
+    void test_appliesEveryCondition() {
+        ProductQueryPlan plan = ProductQueryPlan.of("APPLE", List.of(1L), "instock");
+        Product match = new Product("Green Apple", fruit, 1.0, 3);
+        Product outOfStock = new Product("Green Apple", fruit, 1.0, 0);
+        Product otherName = new Product("Pear", fruit, 1.0, 3);
+        Product otherCategory = new Product("Apple", large, 1.0, 3);
+        Product inactive = new Product("Apple", fruit, 1.0, 3);
+        inactive.setActive(false);
+
+        assertTrue(plan.test(match));
+        assertFalse(plan.test(outOfStock));
+        assertFalse(plan.test(otherName));
+        assertFalse(plan.test(otherCategory));
+        assertFalse(plan.test(inactive));
+        assertTrue(ProductQueryPlan.of(null, List.of(5_000_000_000L), null).test(otherCategory));
+    }
+
+    @Test
+    void unknownAvailability_matchesNothing() {
+        ProductQueryPlan plan = ProductQueryPlan.of(null, null, "soon");
+
+        assertEquals(ProductQueryPlan.Availability.INVALID, plan.availability());
+        assertTrue(plan.matchesNothing());
+    }
+
+    @Test
+    void containsIgnoreCase_matchesLikeLowercasedContains() {
+        for (String value : List.of("Apple", "pineAPPLE", "App", "", "Grape")) {
+            assertEquals(value.toLowerCase().contains("apple"), ProductQueryPlan.containsIgnoreCase(value, "apple"),
+                    value);
+        }
+        assertFalse(ProductQueryPlan.containsIgnoreCase(null, "apple"));
+    }
+
+    @Test
+    void cache_sharesPlansWithTheSameSignature() {
+        ProductQueryPlan.Cache cache = new ProductQueryPlan.Cache(2);
+        ProductQueryPlan first = cache.plan("Apple", List.of(2L, 1L), "INSTOCK");
+
+        assertSame(first, cache.plan("apple", List.of(1L, 2L, 1L), "instock"));
+        cache.plan("pear", null, null);
+        cache.plan("plum", null, null);
+        assertTrue(cache.size() <= 2);
+    }
+}
@@ -2,22 +2,28 @@ package com.example.inventory.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.example.inventory.dto.BatchItemResult;
+import com.example.inventory.dto.PagedResponse;
 import com.example.inventory.dto.ProductDTO;
 import com.example.inventory.model.Category;
 import com.example.inventory.model.Product;
@@ -247,4 +253,108 @@ class ProductServiceTest {
         Exception ex = assertThrows(IllegalArgumentException.class, () -> service.markProductAsInStock(1000L));
         assertEquals("Product not found with ID: 1000", ex.getMessage());
     }
+
+    @Test
+    void getProductsAfterCursor_walksPagesWithoutDuplicatesWhenRowsAreInserted() {
+        Category category = new Category(1L, "Category A");
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            // Prices tie in pairs, so the ID decides the order within a pair
+            products.add(new Product(id, "Product " + id, category, (id + 1) / 2, 1, LocalDate.now()));
+        }
+        when(repository.getAll()).thenAnswer(invocation -> new ArrayList<>(products));
+
+        PagedResponse<Product> first = service.getProductsAfterCursor(null, null, null, "", 3, "price", "asc",
+                null, "asc");
+        assertEquals(List.of(1L, 2L, 3L), ids(first.getContent()));
+        assertEquals(7, first.getTotalElements());
+        assertNotNull(first.getNextCursor());
+
+        // A row sorting before the cursor must not shift the next page
+        products.add(new Product(8L, "Product 8", category, 0.5, 1, LocalDate.now()));
+
+        PagedResponse<Product> second = service.getProductsAfterCursor(null, null, null, first.getNextCursor(), 3,
+                "price", "asc", null, "asc");
+        assertEquals(List.of(4L, 5L, 6L), ids(second.getContent()));
+
+        PagedResponse<Product> last = service.getProductsAfterCursor(null, null, null, second.getNextCursor(), 3,
+                "price", "asc", null, "asc");
+        assertEquals(List.of(7L), ids(last.getContent()));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void getProductsAfterCursor_rejectsForeignOrGarbledCursor() {
+        Category category = new Category(1L, "Category A");
+        when(repository.getAll()).thenReturn(List.of(
+                new Product(1L, "Product A", category, 1.0, 1, LocalDate.now()),
+                new Product(2L, "Product B", category, 2.0, 1, LocalDate.now())));
+        String cursor = service.getProductsAfterCursor(null, null, null, "", 1, "price", "asc", null, "asc")
+                .getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getProductsAfterCursor(null, null, null, cursor, 1, "name", "asc", null, "asc"));
+        // The same order spelled differently still accepts the cursor
+        assertEquals(List.of(2L), service.getProductsAfterCursor(null, null, null, cursor, 1, "Price", "ASC", null,
+                null).getContent().stream().map(Product::getId).toList());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getProductsAfterCursor(null, null, null, "not-a-cursor", 1, "price", "asc", null,
+                        "asc"));
+    }
+
+    @Test
+    void saveBatch_resolvesEachCategoryOnceAndSavesValidItemsTogether() {
+        Category category = new Category(1L, "Category A");
+        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(category));
+        when(categoryService.getCategoryById(9L)).thenReturn(Optional.empty());
+        List<ProductDTO> batch = List.of(
+                new ProductDTO("Product A", 1.0, 1, 1L, null),
+                new ProductDTO("", 1.0, 1, 1L, null),
+                new ProductDTO("Product C", 1.0, 1, 9L, null),
+                new ProductDTO("Product D", 2.0, 2, 1L, null));
+
+        List<BatchItemResult> results = service.saveBatch(batch);
+
+        verify(categoryService, times(1)).getCategoryById(1L);
+        ArgumentCaptor<List<Product>> saved = listCaptor();
+        verify(repository).saveAll(saved.capture());
+        assertEquals(List.of("Product A", "Product D"), saved.getValue().stream().map(Product::getName).toList());
+        assertEquals(List.of(true, false, false, true), results.stream().map(BatchItemResult::isSuccess).toList());
+        assertEquals("Invalid category ID", results.get(2).getError());
+        assertNotNull(results.get(1).getError());
+    }
+
+    @Test
+    void updateBatch_updatesExistingProductsInOneWrite() {
+        Category category = new Category(1L, "Category A");
+        Product existing = new Product(5L, "Old", category, 1.0, 1, null);
+        when(repository.findById(5L)).thenReturn(Optional.of(existing));
+        when(repository.findById(6L)).thenReturn(Optional.empty());
+        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(category));
+        ProductDTO update = new ProductDTO("New", 3.0, 7, 1L, null);
+        update.setId(5L);
+        ProductDTO missing = new ProductDTO("Missing", 3.0, 7, 1L, null);
+        missing.setId(6L);
+        ProductDTO withoutId = new ProductDTO("No ID", 3.0, 7, 1L, null);
+
+        List<BatchItemResult> results = service.updateBatch(List.of(update, missing, withoutId));
+
+        ArgumentCaptor<List<Product>> updated = listCaptor();
+        verify(repository).updateAll(updated.capture());
+        assertEquals(List.of(existing), updated.getValue());
+        assertEquals("New", existing.getName());
+        assertEquals(7, existing.getStock());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("Product not found with ID: 6", results.get(1).getError());
+        assertEquals("Product ID is required", results.get(2).getError());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Product>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
 }
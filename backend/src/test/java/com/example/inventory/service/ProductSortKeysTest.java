@@ -0,0 +1,151 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+
+class ProductSortKeysTest {
+    private static final List<String> NAMES = List.of("apple", "Apple", "APPLES", "banana", "Bananas", "b", "",
+            "cherry", "Çerise", "ÿes", "Ÿes", "Ωmega", "ωMEGA", "zucchini", "Zucchini pie",
+            "Zucchini pie with a long name", "zucchini pie with a longer name");
+
+    private final List<Product> products = catalog(500);
+
+    @Test
+    void page_matchesComparatorSortForEveryKeyPair() {
+        for (ProductSortKeys.Field primary : ProductSortKeys.Field.values()) {
+            for (ProductSortKeys.Field secondary : ProductSortKeys.Field.values()) {
+                for (boolean ascending : new boolean[] { true, false }) {
+                    List<ProductSortKeys.Key> keys = List.of(new ProductSortKeys.Key(primary, ascending),
+                            new ProductSortKeys.Key(secondary, !ascending));
+                    assertMatchesComparator(keys);
+                }
+            }
+        }
+    }
+
+    @Test
+    void page_supportsMoreThanTwoKeys() {
+        assertMatchesComparator(List.of(new ProductSortKeys.Key(ProductSortKeys.Field.CATEGORY, true),
+                new ProductSortKeys.Key(ProductSortKeys.Field.STOCK, false),
+                new ProductSortKeys.Key(ProductSortKeys.Field.NAME, true),
+                new ProductSortKeys.Key(ProductSortKeys.Field.ID, false)));
+    }
+
+    @Test
+    void page_withoutKeys_keepsInputOrder() {
+        ProductSortKeys none = ProductSortKeys.of(Arrays.asList(ProductSortKeys.Key.parse("bogus", "asc"),
+                ProductSortKeys.Key.parse(null, null)));
+
+        assertTrue(none.keys().isEmpty());
+        assertEquals(products.subList(20, 30), none.page(products, 2, 10));
+        assertTrue(none.page(products, 100, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> none.page(products, -1, 10));
+    }
+
+    @Test
+    void collationKey_ordersLikeCaseInsensitiveOrderUnlessItTies() {
+        for (String a : NAMES) {
+            for (String b : NAMES) {
+                int expected = Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(a, b));
+                int byKey = compareKeys(a, b);
+                if (byKey != 0 || expected == 0) {
+                    assertEquals(expected, byKey, a + " vs " + b);
+                }
+            }
+        }
+        assertEquals(0, compareKeys("A long product name, first", "a long product name, second"));
+    }
+
+    @Test
+    void sortableDouble_ordersLikeDoubleCompare() {
+        double[] values = { -10.5, -0.0, 0.0, 0.25, 3, Double.POSITIVE_INFINITY, Double.NaN };
+        for (double a : values) {
+            for (double b : values) {
+                assertEquals(Integer.signum(Double.compare(a, b)),
+                        Long.signum(Long.compare(ProductSortKeys.sortableDouble(a),
+                                ProductSortKeys.sortableDouble(b))), a + " vs " + b);
+            }
+        }
+    }
+
+    private static int compareKeys(String a, String b) {
+        long[] keyA = new long[2];
+        long[] keyB = new long[2];
+        ProductSortKeys.collationKey(a, keyA);
+        ProductSortKeys.collationKey(b, keyB);
+        int result = Long.compareUnsigned(keyA[0], keyB[0]);
+        return Integer.signum(result != 0 ? result : Long.compareUnsigned(keyA[1], keyB[1]));
+    }
+
+    private void assertMatchesComparator(List<ProductSortKeys.Key> keys) {
+        ProductSortKeys sortKeys = ProductSortKeys.of(keys);
+        Comparator<Product> comparator = (a, b) -> 0;
+        for (ProductSortKeys.Key key : keys) {
+            comparator = comparator.thenComparing(comparator(key));
+        }
+        assertSortedLike(comparator, sortKeys);
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(comparator);
+
+        // Pages of 7 take the heap; the larger ones take the full sort
+        for (int size : new int[] { 7, 100, 500 }) {
+            for (int page = 0; page < 3; page++) {
+                int from = Math.min(products.size(), page * size);
+                int to = Math.min(products.size(), from + size);
+                assertEquals(sorted.subList(from, to), sortKeys.page(products, page, size),
+                        keys + " page " + page + " size " + size);
+            }
+        }
+    }
+
+    private void assertSortedLike(Comparator<Product> comparator, ProductSortKeys sortKeys) {
+        List<Product> viaKeys = new ArrayList<>(products);
+        viaKeys.sort(sortKeys.comparator());
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(comparator);
+        assertEquals(sorted, viaKeys);
+    }
+
+    // The comparators ProductService used to build for each field
+    private static Comparator<Product> comparator(ProductSortKeys.Key key) {
+        Comparator<Product> comparator = switch (key.field()) {
+            case NAME -> Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER);
+            case PRICE -> Comparator.comparingDouble(Product::getPrice);
+            case CATEGORY -> Comparator.comparing(p -> p.getCategory() != null ? p.getCategory().getName() : "",
+                    String.CASE_INSENSITIVE_ORDER);
+            case STOCK -> Comparator.comparingDouble(Product::getStock);
+            case EXPIRATION_DATE -> Comparator.comparing(Product::getExpirationDate,
+                    Comparator.nullsLast(LocalDate::compareTo));
+            case ID -> Comparator.comparing(Product::getId);
+        };
+        return key.ascending() ? comparator : comparator.reversed();
+    }
+
+    private static List<Product> catalog(int count) {
+        Random random = new Random(7);
+        List<Category> categories = List.of(new Category(1L, "Fruit"), new Category(2L, "fruit"),
+                new Category(3L, "Dairy"), new Category(4L, "Bakery goods"));
+        List<Product> catalog = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Category category = random.nextInt(10) == 0 ? null : categories.get(random.nextInt(categories.size()));
+            LocalDate expiration = random.nextInt(4) == 0 ? null
+                    : LocalDate.of(2026, 1, 1).plusDays(random.nextInt(30));
+            catalog.add(new Product(id, NAMES.get(random.nextInt(NAMES.size())) + (random.nextBoolean() ? "" : id % 7),
+                    category, random.nextInt(20) / 4.0, random.nextInt(5), expiration));
+        }
+        return catalog;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.example.inventory.config.JacksonConfig;
+import com.example.inventory.dto.ImportLineError;
+import com.example.inventory.dto.ImportResult;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+class ProductTransferServiceTest {
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final Category category = new Category(1L, "Category A");
+    private ProductRepository repository;
+    private CategoryRepository categoryRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductRepository();
+        categoryRepository = new CategoryRepository();
+        categoryRepository.loadCategories(List.of(category));
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ProductTransferService(repository,
+                new ProductService(repository, new CategoryService(categoryRepository)), objectMapper, meterRegistry);
+        for (int i = 0; i < 2_500; i++) {
+            repository.save(new Product("Product " + i, category, i, i % 7));
+        }
+    }
+
+    @Test
+    void exportProducts_writesOneProductPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportProducts(out, false);
+
+        List<String> lines = readLines(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(2_500, count);
+        assertEquals(2_500, lines.size());
+        Product first = objectMapper.readValue(lines.get(0), Product.class);
+        assertEquals(repository.findById(first.getId()).get().getName(), first.getName());
+        assertEquals(1L, first.getCategory().getId());
+    }
+
+    @Test
+    void exportProducts_gzip_roundTrips() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportProducts(out, true);
+
+        List<String> lines = readLines(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(2_500, lines.size());
+    }
+
+    @Test
+    void exportProducts_flushesOncePerThousandLines() throws Exception {
+        FlushCountingStream plain = new FlushCountingStream();
+        FlushCountingStream gzipped = new FlushCountingStream();
+
+        service.exportProducts(plain, false);
+        service.exportProducts(gzipped, true);
+
+        // Two batch flushes, plus the ones from closing the generator and the stream
+        assertTrue(plain.flushes <= 4, () -> plain.flushes + " flushes");
+        assertTrue(gzipped.flushes <= 4, () -> gzipped.flushes + " flushes");
+    }
+
+    @Test
+    void importProducts_exportedLines_roundTripWithNewIds() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportProducts(out, false);
+
+        ImportResult result = service.importProducts(new ByteArrayInputStream(out.toByteArray()), false);
+
+        assertEquals(2_500, result.getProcessed());
+        assertEquals(2_500, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(5_000, repository.getAll().size());
+        assertEquals(2_500.0, meterRegistry.get("inventory.import.records").tag("result", "imported").counter()
+                .count());
+    }
+
+    @Test
+    void importProducts_csv_reportsBadLinesByNumber() throws Exception {
+        String csv = String.join("\n",
+                "name,price,stock,categoryId,expirationDate",
+                "\"Milk, whole\",2.5,10,1,2030-01-31",
+                "Bread,abc,1,1,",
+                "",
+                "Cheese,4,2,99,",
+                ",1,1,1,",
+                "\"Quoted \"\"name\"\"\",1,1,1,");
+        repository.clear();
+
+        ImportResult result = service.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals(5, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3L, 5L, 6L), result.getErrors().stream().map(ImportLineError::getLine).toList());
+        assertEquals("Invalid category ID", result.getErrors().get(1).getError());
+        List<String> names = repository.getAll().stream().map(Product::getName).sorted().toList();
+        assertEquals(List.of("Milk, whole", "Quoted \"name\""), names);
+    }
+
+    private static List<String> readLines(InputStream in) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    private static final class FlushCountingStream extends OutputStream {
+        private int flushes;
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.inventory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.example.inventory.config.DataLoadStatus;
+import com.example.inventory.model.Category;
+import com.example.inventory.model.Product;
+import com.example.inventory.repository.CategoryRepository;
+import com.example.inventory.repository.ProductRepository;
+
+class SnapshotServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataLoadStatus dataLoadStatus;
+    private ProductRepository productRepository;
+    private CategoryRepository categoryRepository;
+    private ProductFileStorageService productStorage;
+    private CategoryFileStorageService categoryStorage;
+    private SnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataLoadStatus = new DataLoadStatus();
+        dataLoadStatus.markReady(0, 0);
+        productRepository = new ProductRepository();
+        categoryRepository = new CategoryRepository();
+        productStorage = new ProductFileStorageService(true, tempDir.toString(), true, "json");
+        categoryStorage = new CategoryFileStorageService(true, tempDir.toString(), true, "json");
+        productRepository.setChangeLog(productStorage.openLog(productRepository::apply));
+        categoryRepository.setChangeLog(categoryStorage.openLog(categoryRepository::apply));
+        service = new SnapshotService(productRepository, categoryRepository, productStorage, categoryStorage,
+                meterRegistry, dataLoadStatus, 10);
+    }
+
+    @Test
+    void snapshotProducts_compactsLogAndRecordsMetrics() throws Exception {
+        Category category = categoryRepository.save(new Category("Category A"));
+        for (int i = 0; i < 50; i++) {
+            productRepository.save(new Product("Product " + i, category, 1.0, i));
+        }
+
+        long bytes = service.snapshotProducts();
+
+        assertTrue(bytes > 0);
+        assertEquals(bytes, Files.size(tempDir.resolve("products.snapshot.json")));
+        assertEquals(0, Files.size(tempDir.resolve("products.wal")));
+        assertFalse(Files.exists(tempDir.resolve("products.wal.prev")));
+        assertEquals(0, productStorage.getPendingLogRecords());
+        assertEquals(1, meterRegistry.get("inventory.snapshot.duration").tag("store", "products").timer().count());
+        assertEquals(bytes,
+                meterRegistry.get("inventory.snapshot.bytes").tag("store", "products").summary().totalAmount());
+    }
+
+    @Test
+    void restart_afterSnapshot_replaysSnapshotPlusLogTail() {
+        Category category = categoryRepository.save(new Category("Category A"));
+        Product first = productRepository.save(new Product("Product A", category, 1.0, 1.0));
+        productRepository.save(new Product("Product B", category, 2.0, 2.0));
+        service.snapshotProducts();
+
+        first.setStock(42);
+        productRepository.updateById(first.getId(), first);
+        productRepository.save(new Product("Product C", category, 3.0, 3.0));
+        productStorage.closeLog();
+
+        ProductFileStorageService restartedStorage = new ProductFileStorageService(true, tempDir.toString(), true, "json");
+        ProductRepository restarted = new ProductRepository();
+        restartedStorage.loadProducts(restarted::loadProduct, id -> categoryRepository.findById(id).get());
+        assertEquals(2, restarted.getAll().size());
+
+        restarted.setChangeLog(restartedStorage.openLog(restarted::apply));
+
+        assertEquals(3, restarted.getAll().size());
+        assertEquals(42, restarted.findById(first.getId()).get().getStock());
+        assertEquals(2, restartedStorage.getPendingLogRecords());
+        assertEquals(3L, restarted.getIdGenerator().get());
+        restartedStorage.closeLog();
+    }
+
+    @Test
+    void snapshotIfNeeded_belowThreshold_skipsSnapshot() {
+        productRepository.save(new Product("Product A", null, 1.0, 1.0));
+
+        service.snapshotIfNeeded();
+
+        assertFalse(Files.exists(tempDir.resolve("products.snapshot.json")));
+        assertEquals(1, productStorage.getPendingLogRecords());
+    }
+
+    @Test
+    void restart_afterBinarySnapshot_loadsMappedFile() {
+        ProductFileStorageService binaryStorage = new ProductFileStorageService(true, tempDir.resolve("binary").toString(),
+                true, "binary");
+        productRepository.setChangeLog(binaryStorage.openLog(productRepository::apply));
+        SnapshotService binaryService = new SnapshotService(productRepository, categoryRepository, binaryStorage,
+                categoryStorage, meterRegistry, dataLoadStatus, 10);
+        Category category = categoryRepository.save(new Category("Category A"));
+        productRepository.save(new Product("Product A", category, 1.0, 1.0));
+
+        binaryService.snapshotProducts();
+        binaryStorage.closeLog();
+
+        assertTrue(Files.exists(tempDir.resolve("binary").resolve("products.snapshot.bin")));
+        ProductRepository restarted = new ProductRepository();
+        new ProductFileStorageService(true, tempDir.resolve("binary").toString(), true, "binary")
+                .loadProducts(restarted::loadProduct, id -> categoryRepository.findById(id).get());
+
+        assertEquals(1, restarted.getAll().size());
+        assertEquals("Category A", restarted.getAll().get(0).getCategory().getName());
+    }
+
+    @Test
+    void snapshotIfNeeded_whileLoading_skipsSnapshot() {
+        SnapshotService loadingService = new SnapshotService(productRepository, categoryRepository, productStorage,
+                categoryStorage, meterRegistry, new DataLoadStatus(), 0);
+        productRepository.save(new Product("Product A", null, 1.0, 1.0));
+
+        loadingService.snapshotIfNeeded();
+
+        assertFalse(Files.exists(tempDir.resolve("products.snapshot.json")));
+    }
+}